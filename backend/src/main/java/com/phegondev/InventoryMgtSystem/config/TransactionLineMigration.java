@@ -0,0 +1,74 @@
+package com.phegondev.InventoryMgtSystem.config;
+
+import com.phegondev.InventoryMgtSystem.repositories.TransactionSeriesBucketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// Copies the products of transactions written before transaction_line existed out of the old transaction_product join
+// table. Runs before the search document and rollup initializers, which read the lines. Only pairs without a line are
+// copied, so running it again changes nothing.
+// The old join table held no quantities. The old API moved the request's single quantity for every product of the
+// basket and stored it as total_products, so each product gets total_products. Unit prices are not known per product:
+// total_price is shared out in proportion to the products' current prices (evenly when those are all zero), which
+// keeps the lines adding up to the recorded total up to rounding.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TransactionLineMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionSeriesBucketRepository transactionSeriesBucketRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void migrate() {
+        Integer legacyTable = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables " +
+                        "WHERE table_schema = SCHEMA() AND table_name = 'transaction_product'",
+                Integer.class);
+        if (legacyTable == null || legacyTable == 0) {
+            return;
+        }
+
+        // their search documents were built without products, the search initializer rebuilds them
+        jdbcTemplate.update("UPDATE transactions t SET t.search_document = NULL " +
+                "WHERE EXISTS (SELECT 1 FROM transaction_product tp WHERE tp.transaction_id = t.id " +
+                "AND NOT EXISTS (SELECT 1 FROM transaction_line l " +
+                "WHERE l.transaction_id = tp.transaction_id AND l.product_id = tp.product_id))");
+
+        int copied = jdbcTemplate.update("INSERT INTO transaction_line (transaction_id, product_id, quantity, unit_price) " +
+                "SELECT tp.transaction_id, tp.product_id, COALESCE(t.total_products, 0), " +
+                "CASE WHEN COALESCE(t.total_products, 0) = 0 OR t.total_price IS NULL THEN 0 " +
+                "WHEN c.price_sum > 0 THEN t.total_price * COALESCE(p.price, 0) / (c.price_sum * t.total_products) " +
+                "ELSE t.total_price / (c.products * t.total_products) END " +
+                "FROM transaction_product tp " +
+                "JOIN transactions t ON t.id = tp.transaction_id " +
+                "JOIN products p ON p.id = tp.product_id " +
+                "JOIN (SELECT lp.transaction_id, COUNT(*) AS products, SUM(COALESCE(lpp.price, 0)) AS price_sum " +
+                "FROM transaction_product lp JOIN products lpp ON lpp.id = lp.product_id " +
+                "GROUP BY lp.transaction_id) c ON c.transaction_id = tp.transaction_id " +
+                "WHERE NOT EXISTS (SELECT 1 FROM transaction_line l " +
+                "WHERE l.transaction_id = tp.transaction_id AND l.product_id = tp.product_id)");
+        if (copied == 0) {
+            return;
+        }
+        log.info("Copied {} products of existing transactions from transaction_product to transaction_line", copied);
+
+        // per product series seeded before the copy are missing these lines, they are recomputed from all lines;
+        // an empty table is left to TransactionRollupInitializer
+        Integer productBuckets = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction_series_bucket WHERE product_id <> 0", Integer.class);
+        if (productBuckets != null && productBuckets > 0) {
+            jdbcTemplate.update("DELETE FROM transaction_series_bucket WHERE product_id <> 0");
+            transactionSeriesBucketRepository.rebuildProductsFromTransactionLines();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.phegondev.InventoryMgtSystem.config;
+
+import com.phegondev.InventoryMgtSystem.repositories.TransactionMonthlyRollupRepository;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionSeriesBucketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// Seeds the monthly rollup and the time series buckets from the existing transactions the first time the application runs with it;
+// from then on the write paths keep it up to date.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TransactionRollupInitializer {
+
+    private final TransactionMonthlyRollupRepository transactionMonthlyRollupRepository;
+    private final TransactionSeriesBucketRepository transactionSeriesBucketRepository;
+    private final TransactionRepository transactionRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (transactionMonthlyRollupRepository.count() == 0 && transactionRepository.count() > 0) {
+            int buckets = transactionMonthlyRollupRepository.rebuildFromTransactions();
+            log.info("Built {} monthly rollup buckets from existing transactions", buckets);
+        }
+        if (transactionSeriesBucketRepository.count() == 0 && transactionRepository.count() > 0) {
+            int buckets = transactionSeriesBucketRepository.rebuildTotalsFromTransactions()
+                    + transactionSeriesBucketRepository.rebuildProductsFromTransactionLines();
+            log.info("Built {} time series buckets from existing transactions", buckets);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.phegondev.InventoryMgtSystem.config;
+
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
+import com.phegondev.InventoryMgtSystem.specification.TransactionSearchDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// ddl-auto cannot declare FULLTEXT indexes, so the transactions search index is created here once, and
+// transactions written before the search document existed are indexed in small batches.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TransactionSearchIndexInitializer {
+
+    private static final String INDEX_NAME = "ft_transactions_search_document";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionRepository transactionRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'transactions' AND index_name = ?",
+                Integer.class, INDEX_NAME);
+
+        if (existing == null || existing == 0) {
+            log.info("Creating FULLTEXT index {}", INDEX_NAME);
+            jdbcTemplate.execute("ALTER TABLE transactions ADD FULLTEXT INDEX " + INDEX_NAME + " (search_document)");
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int indexed = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> {
+                List<Transaction> transactions = transactionRepository.findTop500BySearchDocumentIsNull();
+                transactions.forEach(transaction -> transaction.setSearchDocument(TransactionSearchDocument.of(transaction)));
+                return transactions.size();
+            });
+            if (batch == null || batch == 0) {
+                break;
+            }
+            indexed += batch;
+        }
+        if (indexed > 0) {
+            log.info("Built search documents for {} existing transactions", indexed);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.phegondev.InventoryMgtSystem.controllers;
+
+import com.phegondev.InventoryMgtSystem.enums.ImageSize;
+import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.services.ImageCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+
+@RestController
+@RequestMapping("/api/images")
+@RequiredArgsConstructor
+public class ImageController {
+
+    private final ImageCache imageCache;
+
+    // content addressed, so browsers and proxies may keep a derivative for as long as they like
+    @GetMapping("/{sha256}/{size}")
+    public ResponseEntity<Resource> getImage(@PathVariable String sha256, @PathVariable String size) throws IOException {
+
+        ImageSize imageSize = Arrays.stream(ImageSize.values())
+                .filter(value -> value.name().equalsIgnoreCase(size))
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("Image Not Found"));
+
+        ImageCache.CachedImage image = imageCache.open(sha256, imageSize);
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .eTag(sha256 + "-" + imageSize.name().toLowerCase())
+                .contentType(MediaType.parseMediaType(image.contentType()))
+                .contentLength(image.length())
+                .body(new InputStreamResource(image.content()));
+    }
+}
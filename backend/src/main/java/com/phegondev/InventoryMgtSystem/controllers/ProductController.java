@@ -1,7 +1,9 @@
 package com.phegondev.InventoryMgtSystem.controllers;
 
 
+import com.phegondev.InventoryMgtSystem.dtos.ProductCatalogQuery;
 import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.dtos.ProductFacetQuery;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
 import com.phegondev.InventoryMgtSystem.services.ProductService;
 import lombok.RequiredArgsConstructor;
@@ -30,7 +32,8 @@ public class ProductController {
             @RequestParam("price") BigDecimal price,
             @RequestParam("stockQuantity") Integer stockQuantity,
             @RequestParam("categoryId") Long categoryId,
-            @RequestParam(value = "description", required = false) String description
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "escrowEnabled", required = false) Boolean escrowEnabled
     ) {
         ProductDTO productDTO = new ProductDTO();
         productDTO.setName(name);
@@ -39,6 +42,7 @@ public class ProductController {
         productDTO.setStockQuantity(stockQuantity);
         productDTO.setCategoryId(categoryId);
         productDTO.setDescription(description);
+        productDTO.setEscrowEnabled(escrowEnabled);
 
         return ResponseEntity.ok(productService.saveProduct(productDTO, imageFile));
 
@@ -52,8 +56,11 @@ public class ProductController {
             @RequestParam(value = "sku", required = false) String sku,
             @RequestParam(value = "price", required = false) BigDecimal price,
             @RequestParam(value = "stockQuantity", required = false) Integer stockQuantity,
+            @RequestParam(value = "stockAdjustment", required = false) Integer stockAdjustment,
             @RequestParam(value = "categoryId", required = false) Long categoryId,
             @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "escrowEnabled", required = false) Boolean escrowEnabled,
+            @RequestParam(value = "version", required = false) Long version,
             @RequestParam("productId") Long productId
     ) {
         ProductDTO productDTO = new ProductDTO();
@@ -62,8 +69,11 @@ public class ProductController {
         productDTO.setPrice(price);
         productDTO.setProductId(productId);
         productDTO.setStockQuantity(stockQuantity);
+        productDTO.setStockAdjustment(stockAdjustment);
         productDTO.setCategoryId(categoryId);
         productDTO.setDescription(description);
+        productDTO.setEscrowEnabled(escrowEnabled);
+        productDTO.setVersion(version);
 
         return ResponseEntity.ok(productService.updateProduct(productDTO, imageFile));
 
@@ -79,6 +89,16 @@ public class ProductController {
 
 
 
+    @GetMapping
+    public ResponseEntity<Response> getProductCatalog(@ModelAttribute ProductCatalogQuery catalogQuery) {
+        return ResponseEntity.ok(productService.getProductCatalog(catalogQuery));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<Response> getProductFacets(@ModelAttribute ProductFacetQuery facetQuery) {
+        return ResponseEntity.ok(productService.getProductFacets(facetQuery));
+    }
+
     @GetMapping("/all")
     public ResponseEntity<Response> getAllProducts() {
         return ResponseEntity.ok(productService.getAllProducts());
@@ -100,5 +120,11 @@ public class ProductController {
         return ResponseEntity.ok(productService.searchProduct(input));
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<Response> suggestProducts(@RequestParam String prefix,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productService.suggestProducts(prefix, limit));
+    }
+
 
 }
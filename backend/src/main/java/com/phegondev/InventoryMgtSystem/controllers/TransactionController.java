@@ -3,6 +3,8 @@ package com.phegondev.InventoryMgtSystem.controllers;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
 import com.phegondev.InventoryMgtSystem.dtos.TransactionRequest;
 import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.services.IdempotencyService;
+import com.phegondev.InventoryMgtSystem.services.SaleIngestionService;
 import com.phegondev.InventoryMgtSystem.services.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -18,30 +20,57 @@ import org.springframework.web.bind.annotation.*;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final SaleIngestionService saleIngestionService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/purchase")
-    public ResponseEntity<Response> purchaseInventory(@RequestBody @Valid TransactionRequest transactionRequest) {
-        return ResponseEntity.ok(transactionService.purchase(transactionRequest));
+    public ResponseEntity<Response> purchaseInventory(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody @Valid TransactionRequest transactionRequest) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "purchase",
+                () -> transactionService.purchase(transactionRequest)));
     }
 
     @PostMapping("/sell")
-    public ResponseEntity<Response> sell(@RequestBody TransactionRequest transactionRequest) {
-        return ResponseEntity.ok(transactionService.sell(transactionRequest));
+    public ResponseEntity<Response> sell(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody TransactionRequest transactionRequest) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "sell",
+                () -> transactionService.sell(transactionRequest)));
+    }
+
+    @PostMapping("/sell/async")
+    public ResponseEntity<Response> sellAsync(@RequestBody @Valid TransactionRequest transactionRequest) {
+        return ResponseEntity.accepted().body(saleIngestionService.submitSale(transactionRequest));
+    }
+
+    @GetMapping("/sell/async/{ticketId}")
+    public ResponseEntity<Response> getSaleTicket(@PathVariable String ticketId) {
+        return ResponseEntity.ok(saleIngestionService.getSaleTicket(ticketId));
     }
 
     @PostMapping("/return")
-    public ResponseEntity<Response> returnToSupplier(@RequestBody @Valid TransactionRequest transactionRequest) {
-        return ResponseEntity.ok(transactionService.returnToSupplier(transactionRequest));
+    public ResponseEntity<Response> returnToSupplier(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody @Valid TransactionRequest transactionRequest) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "return",
+                () -> transactionService.returnToSupplier(transactionRequest)));
     }
 
+    // sending a cursor (empty for the first page) switches to keyset pagination, which skips the count
+    // query unless withCount=true is asked for; keyset pages default to 50 rows, offset pages to 1000
     @GetMapping("/all")
     public ResponseEntity<Response> getAllTransactions(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "1000") int size,
-            @RequestParam(required = false) String filter) {
-
-        System.out.println("SEARCH VALUE IS: " + filter);
-        return ResponseEntity.ok(transactionService.getAllTransactions(page, size, filter));
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean withCount) {
+
+        if (cursor != null) {
+            return ResponseEntity.ok(transactionService.getTransactionsByCursor(cursor, size == null ? 50 : size, filter, withCount));
+        }
+        return ResponseEntity.ok(transactionService.getAllTransactions(page, size == null ? 1000 : size, filter));
     }
 
     @GetMapping("/{id}")
@@ -57,6 +86,14 @@ public class TransactionController {
         return ResponseEntity.ok(transactionService.getAllTransactionByMonthAndYear(month, year));
     }
 
+    @GetMapping("/by-month-year/summary")
+    public ResponseEntity<Response> getMonthlySummary(
+            @RequestParam int month,
+            @RequestParam int year) {
+
+        return ResponseEntity.ok(transactionService.getMonthlySummary(month, year));
+    }
+
     @PutMapping("/{transactionId}")
     public ResponseEntity<Response> updateTransactionStatus(
             @PathVariable Long transactionId,
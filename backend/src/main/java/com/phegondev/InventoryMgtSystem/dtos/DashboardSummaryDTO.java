@@ -0,0 +1,29 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DashboardSummaryDTO {
+
+    private Double completedSalesTotal;
+
+    private Long totalProducts;
+
+    private Long totalSuppliers;
+
+    private Map<String, Long> transactionTypeCounts;
+
+    // sections that failed or did not answer in time, the others are still returned
+    private List<String> unavailableSections;
+}
@@ -0,0 +1,33 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+// Query parameters of the paginated product catalog, every filter is optional
+@Data
+public class ProductCatalogQuery {
+
+    private Integer page = 0;
+    private Integer size = 20;
+
+    // keyset pagination, only when sorting by id
+    private String cursor;
+
+    private Long categoryId;
+
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+
+    private Integer minStock;
+    private Integer maxStock;
+
+    // in stock but at or below the low stock threshold
+    private Boolean lowStock;
+
+    // matched against name and sku
+    private String search;
+
+    private String sortBy = "id";
+    private String direction = "DESC";
+}
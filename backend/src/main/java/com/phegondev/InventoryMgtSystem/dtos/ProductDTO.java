@@ -2,6 +2,7 @@ package com.phegondev.InventoryMgtSystem.dtos;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.phegondev.InventoryMgtSystem.enums.ImageStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -30,11 +31,23 @@ public class ProductDTO {
 
     private Integer stockQuantity;
 
+    // on update only: units added to (or, when negative, taken from) the current stock
+    private Integer stockAdjustment;
+
     private String description;
     private LocalDateTime expiryDate;
     private String imageUrl;
+    private ImageStatus imageStatus;
+    private String thumbnailSmallUrl;
+    private String thumbnailMediumUrl;
+    private String thumbnailLargeUrl;
+
+    private Boolean escrowEnabled;
 
     private LocalDateTime createdAt;
 
+    // sent back with an edit, which is refused when the product changed in between
+    private Long version;
+
 
 }
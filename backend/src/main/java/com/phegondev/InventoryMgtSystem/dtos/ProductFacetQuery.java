@@ -0,0 +1,24 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import com.phegondev.InventoryMgtSystem.enums.ExpiryWindow;
+import com.phegondev.InventoryMgtSystem.enums.StockStatus;
+import lombok.Data;
+
+import java.util.List;
+
+// Selected facet values; values of one facet are OR-ed, facets are AND-ed, an empty facet does not filter
+@Data
+public class ProductFacetQuery {
+
+    private List<Long> categoryId;
+
+    // band labels as returned in priceBandCounts, e.g. "10-50" or "1000+"
+    private List<String> priceBand;
+
+    private List<StockStatus> stockStatus;
+
+    private List<ExpiryWindow> expiryWindow;
+
+    // how many matching product ids to return, newest first
+    private Integer limit = 100;
+}
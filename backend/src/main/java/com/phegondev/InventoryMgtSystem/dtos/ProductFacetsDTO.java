@@ -0,0 +1,34 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.phegondev.InventoryMgtSystem.enums.ExpiryWindow;
+import com.phegondev.InventoryMgtSystem.enums.StockStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductFacetsDTO {
+
+    private Long totalMatches;
+
+    private List<Long> productIds;
+
+    // each facet is counted against the selections of the other facets only,
+    // so the values next to a selected one keep their counts
+    private Map<Long, Long> categoryCounts;
+
+    private Map<String, Long> priceBandCounts;
+
+    private Map<StockStatus, Long> stockStatusCounts;
+
+    private Map<ExpiryWindow, Long> expiryWindowCounts;
+}
@@ -25,6 +25,7 @@ public class Response {
     //for pagination
     private Integer totalPages;
     private Long totalElements;
+    private String nextCursor;
 
     //data output optionals
     private UserDTO user;
@@ -38,9 +39,17 @@ public class Response {
 
     private ProductDTO product;
     private List<ProductDTO> products;
+    private ProductFacetsDTO facets;
 
     private TransactionDTO transaction;
     private List<TransactionDTO> transactions;
+    private List<TransactionRollupDTO> monthlySummary;
+    private List<TimeSeriesPointDTO> series;
+
+    private DashboardSummaryDTO dashboard;
+
+    //for asynchronous sale ingestion
+    private SaleTicketDTO ticket;
 
     private final LocalDateTime timestamp = LocalDateTime.now();
 
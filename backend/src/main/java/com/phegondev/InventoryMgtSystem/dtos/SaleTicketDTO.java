@@ -0,0 +1,28 @@
+package com.phegondev.InventoryMgtSystem.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.phegondev.InventoryMgtSystem.enums.SaleTicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SaleTicketDTO {
+
+    private String ticketId;
+
+    private SaleTicketStatus status;
+
+    private String message;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+}
@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 
 @Data
@@ -39,6 +40,8 @@ public class TransactionDTO {
 
     private Set<ProductDTO> products; 
 
+    private List<TransactionLineDTO> lines;
+
     private UserDTO user;
 
     private SupplierDTO supplier;
@@ -0,0 +1,6 @@
+package com.phegondev.InventoryMgtSystem.enums;
+
+// Windows are relative to today: WITHIN_WEEK is the next 7 days, WITHIN_MONTH the 23 days after that
+public enum ExpiryWindow {
+    EXPIRED, WITHIN_WEEK, WITHIN_MONTH, LATER, NO_EXPIRY
+}
@@ -0,0 +1,16 @@
+package com.phegondev.InventoryMgtSystem.enums;
+
+// thumbnail derivatives, scaled to fit within maxDimension pixels on their longest side
+public enum ImageSize {
+    SMALL(160), MEDIUM(480), LARGE(1024);
+
+    private final int maxDimension;
+
+    ImageSize(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+}
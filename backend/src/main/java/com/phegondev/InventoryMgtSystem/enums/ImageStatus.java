@@ -0,0 +1,6 @@
+package com.phegondev.InventoryMgtSystem.enums;
+
+// PENDING while the image waits in or runs through the upload pipeline
+public enum ImageStatus {
+    PENDING, READY, FAILED
+}
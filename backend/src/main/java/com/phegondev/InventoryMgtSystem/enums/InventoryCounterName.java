@@ -0,0 +1,10 @@
+package com.phegondev.InventoryMgtSystem.enums;
+
+public enum InventoryCounterName {
+    PRODUCTS, SUPPLIERS, COMPLETED_SALES_TOTAL,
+    PURCHASE_TRANSACTIONS, SALE_TRANSACTIONS, RETURN_TO_SUPPLIER_TRANSACTIONS;
+
+    public static InventoryCounterName transactionsOf(TransactionType type) {
+        return valueOf(type.name() + "_TRANSACTIONS");
+    }
+}
@@ -0,0 +1,18 @@
+package com.phegondev.InventoryMgtSystem.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum SeriesGranularity {
+    DAY, WEEK, MONTH;
+
+    // first day of the bucket the date falls into; weeks start on monday
+    public LocalDate bucketOf(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+}
@@ -0,0 +1,6 @@
+package com.phegondev.InventoryMgtSystem.enums;
+
+// LOW_STOCK is at or below products.low-stock-threshold but not empty
+public enum StockStatus {
+    OUT_OF_STOCK, LOW_STOCK, IN_STOCK
+}
@@ -0,0 +1,7 @@
+package com.phegondev.InventoryMgtSystem.exceptions;
+
+public class ImageUploadBusyException extends RuntimeException {
+    public ImageUploadBusyException(String message) {
+        super(message);
+    }
+}
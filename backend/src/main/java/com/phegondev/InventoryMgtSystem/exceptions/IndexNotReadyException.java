@@ -0,0 +1,7 @@
+package com.phegondev.InventoryMgtSystem.exceptions;
+
+public class IndexNotReadyException extends RuntimeException {
+    public IndexNotReadyException(String message) {
+        super(message);
+    }
+}
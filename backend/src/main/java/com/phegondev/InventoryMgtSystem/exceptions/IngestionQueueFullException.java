@@ -0,0 +1,7 @@
+package com.phegondev.InventoryMgtSystem.exceptions;
+
+public class IngestionQueueFullException extends RuntimeException {
+    public IngestionQueueFullException(String message) {
+        super(message);
+    }
+}
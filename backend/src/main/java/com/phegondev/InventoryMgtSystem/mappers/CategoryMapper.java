@@ -0,0 +1,44 @@
+package com.phegondev.InventoryMgtSystem.mappers;
+
+import com.phegondev.InventoryMgtSystem.dtos.CategoryDTO;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class CategoryMapper {
+
+    private final ProductMapper productMapper;
+
+    // the category alone, its products are left out
+    public CategoryDTO toDTO(Category category) {
+        if (category == null) return null;
+
+        CategoryDTO categoryDTO = new CategoryDTO();
+        categoryDTO.setId(category.getId());
+        categoryDTO.setName(category.getName());
+        return categoryDTO;
+    }
+
+    public CategoryDTO toDTOWithProducts(Category category) {
+        CategoryDTO categoryDTO = toDTO(category);
+        if (categoryDTO != null && category.getProducts() != null) {
+            categoryDTO.setProducts(productMapper.toDTOs(category.getProducts()));
+        }
+        return categoryDTO;
+    }
+
+    public List<CategoryDTO> toDTOs(List<Category> categories) {
+        return categories.stream().map(this::toDTO).toList();
+    }
+
+    public Category toEntity(CategoryDTO categoryDTO) {
+        return Category.builder()
+                .id(categoryDTO.getId())
+                .name(categoryDTO.getName())
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.phegondev.InventoryMgtSystem.mappers;
+
+import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ProductMapper {
+
+    public ProductDTO toDTO(Product product) {
+        if (product == null) return null;
+
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(product.getId());
+        productDTO.setProductId(product.getId());
+        productDTO.setCategoryId(product.getCategory() == null ? null : product.getCategory().getId());
+        productDTO.setName(product.getName());
+        productDTO.setSku(product.getSku());
+        productDTO.setPrice(product.getPrice());
+        productDTO.setStockQuantity(product.getStockQuantity());
+        productDTO.setDescription(product.getDescription());
+        productDTO.setExpiryDate(product.getExpiryDate());
+        productDTO.setImageUrl(product.getImageUrl());
+        productDTO.setImageStatus(product.getImageStatus());
+        // the hash only moves once a new image is stored, so a pending or failed upload keeps the old thumbnails
+        if (product.getImageHash() != null) {
+            String thumbnails = "/api/images/" + product.getImageHash() + "/";
+            productDTO.setThumbnailSmallUrl(thumbnails + "small");
+            productDTO.setThumbnailMediumUrl(thumbnails + "medium");
+            productDTO.setThumbnailLargeUrl(thumbnails + "large");
+        }
+        productDTO.setEscrowEnabled(product.isEscrowEnabled());
+        productDTO.setCreatedAt(product.getCreatedAt());
+        productDTO.setVersion(product.getVersion());
+        return productDTO;
+    }
+
+    public List<ProductDTO> toDTOs(List<Product> products) {
+        return products.stream().map(this::toDTO).toList();
+    }
+}
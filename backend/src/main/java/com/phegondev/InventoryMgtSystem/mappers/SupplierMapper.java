@@ -0,0 +1,35 @@
+package com.phegondev.InventoryMgtSystem.mappers;
+
+import com.phegondev.InventoryMgtSystem.dtos.SupplierDTO;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class SupplierMapper {
+
+    public SupplierDTO toDTO(Supplier supplier) {
+        if (supplier == null) return null;
+
+        SupplierDTO supplierDTO = new SupplierDTO();
+        supplierDTO.setId(supplier.getId());
+        supplierDTO.setName(supplier.getName());
+        supplierDTO.setContactInfo(supplier.getContactInfo());
+        supplierDTO.setAddress(supplier.getAddress());
+        return supplierDTO;
+    }
+
+    public List<SupplierDTO> toDTOs(List<Supplier> suppliers) {
+        return suppliers.stream().map(this::toDTO).toList();
+    }
+
+    public Supplier toEntity(SupplierDTO supplierDTO) {
+        return Supplier.builder()
+                .id(supplierDTO.getId())
+                .name(supplierDTO.getName())
+                .contactInfo(supplierDTO.getContactInfo())
+                .address(supplierDTO.getAddress())
+                .build();
+    }
+}
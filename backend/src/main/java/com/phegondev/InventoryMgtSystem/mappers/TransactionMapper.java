@@ -0,0 +1,71 @@
+package com.phegondev.InventoryMgtSystem.mappers;
+
+import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionLineDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionRollupDTO;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.TransactionLine;
+import com.phegondev.InventoryMgtSystem.models.TransactionMonthlyRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class TransactionMapper {
+
+    private final ProductMapper productMapper;
+    private final SupplierMapper supplierMapper;
+    private final UserMapper userMapper;
+
+    // the transaction with its lines, without user, supplier or products
+    public TransactionDTO toDTO(Transaction transaction) {
+        TransactionDTO transactionDTO = new TransactionDTO();
+        transactionDTO.setId(transaction.getId());
+        transactionDTO.setTotalProducts(transaction.getTotalProducts());
+        transactionDTO.setTotalPrice(transaction.getTotalPrice());
+        transactionDTO.setTransactionType(transaction.getTransactionType());
+        transactionDTO.setStatus(transaction.getStatus());
+        transactionDTO.setDescription(transaction.getDescription());
+        transactionDTO.setNote(transaction.getNote());
+        transactionDTO.setCreatedAt(transaction.getCreatedAt());
+        transactionDTO.setUpdateAt(transaction.getUpdateAt());
+        if (transaction.getLines() != null) {
+            transactionDTO.setLines(transaction.getLines().stream().map(this::toDTO).toList());
+        }
+        return transactionDTO;
+    }
+
+    // everything shown on the transaction details page
+    public TransactionDTO toDetailDTO(Transaction transaction) {
+        TransactionDTO transactionDTO = toDTO(transaction);
+        transactionDTO.setUser(userMapper.toDTO(transaction.getUser()));
+        transactionDTO.setSupplier(supplierMapper.toDTO(transaction.getSupplier()));
+        if (transaction.getLines() != null) {
+            transactionDTO.setProducts(transaction.getLines().stream()
+                    .map(line -> productMapper.toDTO(line.getProduct()))
+                    .collect(Collectors.toSet()));
+        }
+        return transactionDTO;
+    }
+
+    public List<TransactionDTO> toDTOs(List<Transaction> transactions) {
+        return transactions.stream().map(this::toDTO).toList();
+    }
+
+    public TransactionLineDTO toDTO(TransactionLine line) {
+        TransactionLineDTO lineDTO = new TransactionLineDTO();
+        lineDTO.setProductId(line.getProduct().getId());
+        lineDTO.setProductName(line.getProduct().getName());
+        lineDTO.setQuantity(line.getQuantity());
+        lineDTO.setUnitPrice(line.getUnitPrice());
+        return lineDTO;
+    }
+
+    public TransactionRollupDTO toDTO(TransactionMonthlyRollup rollup) {
+        return new TransactionRollupDTO(rollup.getYear(), rollup.getMonth(), rollup.getTransactionType(),
+                rollup.getStatus(), rollup.getTransactionCount(), rollup.getTotalProducts(), rollup.getTotalPrice());
+    }
+}
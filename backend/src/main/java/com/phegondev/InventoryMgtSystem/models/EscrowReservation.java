@@ -0,0 +1,38 @@
+package com.phegondev.InventoryMgtSystem.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// The share of a product's escrow_held reserved by one running node. The node renews heartbeat_at while it lives;
+// once it stops doing so any node gives the units back to the shared stock.
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "escrow_reservations", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_escrow_reservation", columnNames = {"node_id", "product_id"})
+})
+@Data
+@Builder
+public class EscrowReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "node_id", nullable = false, length = 36)
+    private String nodeId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private int units;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+}
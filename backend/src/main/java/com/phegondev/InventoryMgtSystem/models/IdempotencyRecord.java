@@ -0,0 +1,36 @@
+package com.phegondev.InventoryMgtSystem.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Outcome of a write request sent with an Idempotency-Key, replayed when the same key is sent again
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+@Data
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // sha-256 of the operation, the caller and the client supplied key
+    @Column(name = "idempotency_key", unique = true, nullable = false, length = 64)
+    private String idempotencyKey;
+
+    private int responseStatus;
+
+    private String responseMessage;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,49 @@
+package com.phegondev.InventoryMgtSystem.models;
+
+import com.phegondev.InventoryMgtSystem.enums.ImageSize;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// An image stored once per distinct content, shared by every product uploading the same bytes
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "image_assets")
+@Data
+@Builder
+public class ImageAsset {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // sha-256 of the original bytes, hex encoded
+    @Column(unique = true, nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private String url;
+
+    // thumbnail urls stay null when the format could not be decoded, the original is served instead
+    private String smallUrl;
+    private String mediumUrl;
+    private String largeUrl;
+
+    private String thumbnailContentType;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public String urlOf(ImageSize size) {
+        return switch (size) {
+            case SMALL -> smallUrl;
+            case MEDIUM -> mediumUrl;
+            case LARGE -> largeUrl;
+        };
+    }
+}
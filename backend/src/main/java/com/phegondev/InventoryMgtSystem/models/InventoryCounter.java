@@ -0,0 +1,28 @@
+package com.phegondev.InventoryMgtSystem.models;
+
+import com.phegondev.InventoryMgtSystem.enums.InventoryCounterName;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Running dashboard aggregates, updated in the same database transaction as the writes they count
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "inventory_counters")
+@Data
+@Builder
+public class InventoryCounter {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "counter_name", length = 64)
+    private InventoryCounterName name;
+
+    @Column(name = "counter_value", nullable = false, precision = 38, scale = 2)
+    private BigDecimal value;
+}
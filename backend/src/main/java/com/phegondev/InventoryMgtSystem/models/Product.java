@@ -1,5 +1,6 @@
 package com.phegondev.InventoryMgtSystem.models;
 
+import com.phegondev.InventoryMgtSystem.enums.ImageStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -8,6 +9,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,9 +20,16 @@ import java.time.LocalDateTime;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category_price", columnList = "category_id, price"),
+        @Index(name = "idx_products_category_stock", columnList = "category_id, stock_quantity"),
+        @Index(name = "idx_products_price", columnList = "price"),
+        @Index(name = "idx_products_stock", columnList = "stock_quantity")
+})
 @Data
 @Builder
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 public class Product {
 
     @Id
@@ -35,14 +47,39 @@ public class Product {
     private BigDecimal price;
 
     @Min(value = 0, message = "stock quantity cannot be negative")
+    @Column(name = "stock_quantity")
     private Integer stockQuantity;
 
     private String description;
     private LocalDateTime expiryDate;
     private String imageUrl;
 
+    // null when the product never had an image; imageUrl keeps the previous image while a new one is PENDING
+    @Enumerated(EnumType.STRING)
+    @Column(name = "image_status")
+    private ImageStatus imageStatus;
+
+    // sha-256 of the image, names its thumbnails under /api/images
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
     private final LocalDateTime createdAt = LocalDateTime.now();
 
+    // hot SKUs are sold from per-node escrow blocks instead of updating this row on every sale
+    @Column(name = "escrow_enabled", nullable = false, columnDefinition = "bit default 0")
+    private boolean escrowEnabled;
+
+    // units reserved by escrow blocks that are not yet settled as sales; the default is not spelled out as a column
+    // definition because Hibernate reuses that as the cast type of the parameters added to it
+    @ColumnDefault("0")
+    @Column(name = "escrow_held", nullable = false)
+    private int escrowHeld;
+
+    // guards edits made through updateProduct; stock movements use atomic updates and do not bump it
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "category_id")
     private Category category;
@@ -59,6 +96,8 @@ public class Product {
                 ", description='" + description + '\'' +
                 ", expiryDate=" + expiryDate +
                 ", imageUrl='" + imageUrl + '\'' +
+                ", imageStatus=" + imageStatus +
+                ", escrowEnabled=" + escrowEnabled +
                 ", createdAt=" + createdAt +
                 '}';
     }
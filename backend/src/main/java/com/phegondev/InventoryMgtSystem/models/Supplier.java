@@ -6,11 +6,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "suppliers")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "suppliers")
 @Data
 @Builder
 public class Supplier {
@@ -10,13 +10,16 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_created_at", columnList = "created_at"),
+        @Index(name = "idx_transactions_user_id_id", columnList = "user_id, id")
+})
 @Data
 @Builder
 public class Transaction {
@@ -38,12 +41,16 @@ public class Transaction {
     private String description;
     private String note;
 
+    @Column(name = "created_at")
     private final LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime updateAt;
 
-    @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(name = "transaction_product", joinColumns = @JoinColumn(name = "transaction_id"), inverseJoinColumns = @JoinColumn(name = "product_id"))
-    private Set<Product> products = new HashSet<>();
+    // lowercased text searched through the FULLTEXT index, see TransactionSearchDocument
+    @Column(name = "search_document", columnDefinition = "TEXT")
+    private String searchDocument;
+
+    @OneToMany(mappedBy = "transaction", cascade = CascadeType.PERSIST)
+    private List<TransactionLine> lines = new ArrayList<>();
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
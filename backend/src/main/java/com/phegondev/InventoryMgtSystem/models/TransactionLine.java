@@ -0,0 +1,51 @@
+package com.phegondev.InventoryMgtSystem.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// One row per product moved by a transaction, with the quantity and the unit price at the time of the movement
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "transaction_line", indexes = {
+        @Index(name = "idx_transaction_line_product_transaction", columnList = "product_id, transaction_id")
+})
+@Data
+@Builder
+public class TransactionLine {
+
+    @EmbeddedId
+    @Builder.Default
+    private TransactionLineId id = new TransactionLineId();
+
+    @MapsId("transactionId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "transaction_id")
+    @EqualsAndHashCode.Exclude
+    private Transaction transaction;
+
+    @MapsId("productId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id")
+    @EqualsAndHashCode.Exclude
+    private Product product;
+
+    private Integer quantity;
+
+    private BigDecimal unitPrice;
+
+    @Override
+    public String toString() {
+        return "TransactionLine{" +
+                "id=" + id +
+                ", quantity=" + quantity +
+                ", unitPrice=" + unitPrice +
+                '}';
+    }
+}
@@ -0,0 +1,22 @@
+package com.phegondev.InventoryMgtSystem.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionLineId implements Serializable {
+
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "product_id")
+    private Long productId;
+}
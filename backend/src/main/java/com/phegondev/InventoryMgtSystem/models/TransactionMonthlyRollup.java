@@ -0,0 +1,51 @@
+package com.phegondev.InventoryMgtSystem.models;
+
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Count and totals of the transactions of one month, per type and status, maintained by the write paths
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "transaction_monthly_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_transaction_monthly_rollup_bucket",
+                columnNames = {"rollup_year", "rollup_month", "transaction_type", "status"})
+})
+@Data
+@Builder
+public class TransactionMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "rollup_month", nullable = false)
+    private Integer month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TransactionStatus status;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+
+    @Column(name = "total_products", nullable = false)
+    private Long totalProducts;
+
+    @Column(name = "total_price", nullable = false, precision = 38, scale = 2)
+    private BigDecimal totalPrice;
+}
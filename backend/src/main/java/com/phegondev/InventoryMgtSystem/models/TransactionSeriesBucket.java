@@ -0,0 +1,55 @@
+package com.phegondev.InventoryMgtSystem.models;
+
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Daily totals per type, status and product, maintained by the write paths.
+// Product id 0 holds the totals of all products so unfiltered series never sum across products.
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "transaction_series_bucket", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_transaction_series_bucket",
+                columnNames = {"product_id", "bucket_date", "transaction_type", "status"})
+})
+@Data
+@Builder
+public class TransactionSeriesBucket {
+
+    public static final long ALL_PRODUCTS = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TransactionStatus status;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+
+    @Column(name = "total_products", nullable = false)
+    private Long totalProducts;
+
+    @Column(name = "total_price", nullable = false, precision = 38, scale = 2)
+    private BigDecimal totalPrice;
+}
@@ -0,0 +1,42 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.models.EscrowReservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EscrowReservationRepository extends JpaRepository<EscrowReservation, Long> {
+
+    // adds (or with negative values removes) units to the node's reservation of a product, creating it if needed
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "escrow_reservations"))
+    @Query(value = "INSERT INTO escrow_reservations (node_id, product_id, units, heartbeat_at) " +
+            "VALUES (:nodeId, :productId, :units, :now) " +
+            "ON DUPLICATE KEY UPDATE units = units + VALUES(units), heartbeat_at = VALUES(heartbeat_at)",
+            nativeQuery = true)
+    int addUnits(@Param("nodeId") String nodeId, @Param("productId") Long productId, @Param("units") int units,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE EscrowReservation r SET r.heartbeatAt = :now WHERE r.nodeId = :nodeId")
+    int heartbeat(@Param("nodeId") String nodeId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM EscrowReservation r WHERE r.nodeId = :nodeId AND r.units = 0")
+    int deleteEmpty(@Param("nodeId") String nodeId);
+
+    @Query("SELECT r FROM EscrowReservation r WHERE r.heartbeatAt < :cutoff")
+    List<EscrowReservation> findExpired(@Param("cutoff") LocalDateTime cutoff);
+
+    // only the node whose delete wins gives the units back
+    @Modifying
+    @Query("DELETE FROM EscrowReservation r WHERE r.id = :id AND r.heartbeatAt < :cutoff")
+    int deleteIfExpired(@Param("id") Long id, @Param("cutoff") LocalDateTime cutoff);
+}
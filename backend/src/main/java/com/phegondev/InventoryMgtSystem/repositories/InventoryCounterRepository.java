@@ -0,0 +1,25 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.enums.InventoryCounterName;
+import com.phegondev.InventoryMgtSystem.models.InventoryCounter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+
+// native writes declare their query space, see TransactionSeriesBucketRepository
+public interface InventoryCounterRepository extends JpaRepository<InventoryCounter, InventoryCounterName> {
+
+    // relative update so concurrent writers never overwrite each other, creates the counter if needed
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "inventory_counters"))
+    @Query(value = "INSERT INTO inventory_counters (counter_name, counter_value) VALUES (:name, :delta) " +
+            "ON DUPLICATE KEY UPDATE counter_value = counter_value + VALUES(counter_value)",
+            nativeQuery = true)
+    int add(@Param("name") String name, @Param("delta") BigDecimal delta);
+}
@@ -1,11 +1,84 @@
 package com.phegondev.InventoryMgtSystem.repositories;
 
+import com.phegondev.InventoryMgtSystem.enums.ImageStatus;
 import com.phegondev.InventoryMgtSystem.models.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
     List<Product> findByNameContainingOrDescriptionContaining(String name, String description);
-    
+
+    // the columns the search index is built from, read in id order one batch at a time
+    @Query("SELECT p.id AS id, p.name AS name, p.sku AS sku, p.description AS description FROM Product p " +
+            "WHERE p.id > :afterId ORDER BY p.id")
+    List<SearchFields> findSearchFieldsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // the columns the facet index is built from
+    @Query("SELECT p.id AS id, p.category.id AS categoryId, p.price AS price, p.stockQuantity AS stockQuantity, " +
+            "p.expiryDate AS expiryDate FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<FacetFields> findFacetFieldsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.category.id AS categoryId, p.price AS price, p.stockQuantity AS stockQuantity, " +
+            "p.expiryDate AS expiryDate FROM Product p WHERE p.id = :id")
+    Optional<FacetFields> findFacetFieldsById(@Param("id") Long id);
+
+    interface SearchFields {
+        Long getId();
+        String getName();
+        String getSku();
+        String getDescription();
+    }
+
+    interface FacetFields {
+        Long getId();
+        Long getCategoryId();
+        BigDecimal getPrice();
+        Integer getStockQuantity();
+        LocalDateTime getExpiryDate();
+    }
+
+    // stock changes are applied in the database so concurrent transactions never overwrite each other
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity WHERE p.id = :id")
+    int increaseStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // returns 0 when the product does not have enough stock left outside of escrow reservations
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity WHERE p.id = :id AND p.stockQuantity - p.escrowHeld >= :quantity")
+    int decreaseStockIfAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // reserves a block of stock for a node's escrow, returns 0 when not enough unreserved stock is left
+    @Modifying
+    @Query("UPDATE Product p SET p.escrowHeld = p.escrowHeld + :quantity WHERE p.id = :id AND p.stockQuantity - p.escrowHeld >= :quantity")
+    int reserveEscrow(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // turns units sold from escrow into a real stock decrease
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, p.escrowHeld = p.escrowHeld - :quantity WHERE p.id = :id")
+    int settleEscrow(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // gives unsold escrow units back to the shared stock
+    @Modifying
+    @Query("UPDATE Product p SET p.escrowHeld = p.escrowHeld - :quantity WHERE p.id = :id")
+    int releaseEscrow(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids AND p.escrowEnabled = true")
+    List<Long> findEscrowEnabledIds(@Param("ids") Collection<Long> ids);
+
+    // written by the image upload workers; leaves the version alone so an edit in flight does not fail on it
+    @Modifying
+    @Query("UPDATE Product p SET p.imageUrl = COALESCE(:imageUrl, p.imageUrl), p.imageHash = COALESCE(:imageHash, p.imageHash), " +
+            "p.imageStatus = :imageStatus WHERE p.id = :id")
+    int updateImage(@Param("id") Long id, @Param("imageUrl") String imageUrl, @Param("imageHash") String imageHash,
+                    @Param("imageStatus") ImageStatus imageStatus);
 }
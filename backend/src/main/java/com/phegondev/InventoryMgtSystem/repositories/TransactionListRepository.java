@@ -0,0 +1,21 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Read model for the transaction list views: only the scalar columns are selected, so no entity is
+// instantiated and no user, supplier or line association is ever touched
+public interface TransactionListRepository {
+
+    Page<TransactionDTO> findListItems(Specification<Transaction> spec, Pageable pageable);
+
+    List<TransactionDTO> findListItems(Specification<Transaction> spec, Sort sort, int limit);
+
+    List<TransactionDTO> findListItems(Specification<Transaction> spec);
+}
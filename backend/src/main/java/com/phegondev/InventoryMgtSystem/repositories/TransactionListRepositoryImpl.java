@@ -0,0 +1,96 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+public class TransactionListRepositoryImpl implements TransactionListRepository {
+
+    private static final String[] COLUMNS = {
+            "id", "totalProducts", "totalPrice", "transactionType", "status",
+            "description", "note", "createdAt", "updateAt"
+    };
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TransactionDTO> findListItems(Specification<Transaction> spec, Pageable pageable) {
+        TypedQuery<Tuple> query = listQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<TransactionDTO> content = query.getResultStream().map(this::toDTO).toList();
+
+        // the count query is skipped when the page already tells the total (first or last page)
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<TransactionDTO> findListItems(Specification<Transaction> spec, Sort sort, int limit) {
+        return listQuery(spec, sort).setMaxResults(limit).getResultStream().map(this::toDTO).toList();
+    }
+
+    @Override
+    public List<TransactionDTO> findListItems(Specification<Transaction> spec) {
+        return listQuery(spec, Sort.unsorted()).getResultStream().map(this::toDTO).toList();
+    }
+
+    private TypedQuery<Tuple> listQuery(Specification<Transaction> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Transaction> root = query.from(Transaction.class);
+
+        query.multiselect(Arrays.stream(COLUMNS).<Selection<?>>map(column -> root.get(column).alias(column)).toList());
+        query.where(spec.toPredicate(root, query, cb));
+        // an explicit sort wins, otherwise the ordering set by the specification (relevance) is kept
+        if (sort.isSorted()) {
+            query.orderBy(toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Transaction> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        query.select(cb.count(root)).where(spec.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private TransactionDTO toDTO(Tuple tuple) {
+        TransactionDTO transactionDTO = new TransactionDTO();
+        transactionDTO.setId(tuple.get("id", Long.class));
+        transactionDTO.setTotalProducts(tuple.get("totalProducts", Integer.class));
+        transactionDTO.setTotalPrice(tuple.get("totalPrice", BigDecimal.class));
+        transactionDTO.setTransactionType(tuple.get("transactionType", TransactionType.class));
+        transactionDTO.setStatus(tuple.get("status", TransactionStatus.class));
+        transactionDTO.setDescription(tuple.get("description", String.class));
+        transactionDTO.setNote(tuple.get("note", String.class));
+        transactionDTO.setCreatedAt(tuple.get("createdAt", LocalDateTime.class));
+        transactionDTO.setUpdateAt(tuple.get("updateAt", LocalDateTime.class));
+        return transactionDTO;
+    }
+}
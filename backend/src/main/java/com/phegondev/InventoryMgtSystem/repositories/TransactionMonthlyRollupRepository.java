@@ -0,0 +1,43 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.models.TransactionMonthlyRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// native writes declare their query space, see TransactionSeriesBucketRepository
+public interface TransactionMonthlyRollupRepository extends JpaRepository<TransactionMonthlyRollup, Long> {
+
+    List<TransactionMonthlyRollup> findByYearAndMonth(Integer year, Integer month);
+
+    // adds (or with negative values removes) transactions to a bucket, creating the bucket if needed
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "transaction_monthly_rollup"))
+    @Query(value = "INSERT INTO transaction_monthly_rollup " +
+            "(rollup_year, rollup_month, transaction_type, status, transaction_count, total_products, total_price) " +
+            "VALUES (:year, :month, :type, :status, :count, :products, :price) " +
+            "ON DUPLICATE KEY UPDATE transaction_count = transaction_count + VALUES(transaction_count), " +
+            "total_products = total_products + VALUES(total_products), total_price = total_price + VALUES(total_price)",
+            nativeQuery = true)
+    int addToBucket(@Param("year") int year, @Param("month") int month, @Param("type") String type,
+                    @Param("status") String status, @Param("count") long count, @Param("products") long products,
+                    @Param("price") BigDecimal price);
+
+    // one-off full rebuild from the transactions table, used when the rollup is first introduced
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "transaction_monthly_rollup"))
+    @Query(value = "INSERT INTO transaction_monthly_rollup " +
+            "(rollup_year, rollup_month, transaction_type, status, transaction_count, total_products, total_price) " +
+            "SELECT YEAR(created_at), MONTH(created_at), transaction_type, status, COUNT(*), " +
+            "COALESCE(SUM(total_products), 0), COALESCE(SUM(total_price), 0) FROM transactions " +
+            "GROUP BY YEAR(created_at), MONTH(created_at), transaction_type, status",
+            nativeQuery = true)
+    int rebuildFromTransactions();
+}
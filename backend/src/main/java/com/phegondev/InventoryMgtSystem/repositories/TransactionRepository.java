@@ -4,7 +4,9 @@ import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
 import com.phegondev.InventoryMgtSystem.enums.TransactionType;
 import com.phegondev.InventoryMgtSystem.models.Transaction;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -12,7 +14,15 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>,
+        TransactionListRepository {
+
+    List<Transaction> findTop500BySearchDocumentIsNull();
+
+    // everything the transaction details page shows in a single select, lines being the only collection joined
+    @Query("SELECT t FROM Transaction t LEFT JOIN FETCH t.user LEFT JOIN FETCH t.supplier " +
+            "LEFT JOIN FETCH t.lines l LEFT JOIN FETCH l.product p LEFT JOIN FETCH p.category WHERE t.id = :id")
+    Optional<Transaction> findDetailById(@Param("id") Long id);
 
     
 
@@ -27,6 +37,9 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
 @Query("SELECT SUM(t.totalPrice) FROM Transaction t WHERE t.transactionType = :type AND t.status = :status")
 Double sumSalesByTypeAndStatus(@Param("type") TransactionType type, @Param("status") TransactionStatus status);
 
+@Query("SELECT COALESCE(SUM(t.totalPrice), 0) FROM Transaction t WHERE t.transactionType = :type AND t.status = :status")
+BigDecimal sumTotalPriceByTypeAndStatus(@Param("type") TransactionType type, @Param("status") TransactionStatus status);
+
 
 
     
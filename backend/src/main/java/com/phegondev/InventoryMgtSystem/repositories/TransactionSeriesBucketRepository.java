@@ -0,0 +1,67 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.models.TransactionSeriesBucket;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// native writes name their table as the only query space, otherwise Hibernate treats them as touching every
+// table and evicts the whole second-level and query cache on each one
+public interface TransactionSeriesBucketRepository extends JpaRepository<TransactionSeriesBucket, Long> {
+
+    // a null type or status matches every type or status
+    @Query("SELECT b FROM TransactionSeriesBucket b WHERE b.productId = :productId " +
+            "AND b.bucketDate BETWEEN :from AND :to " +
+            "AND (:type IS NULL OR b.transactionType = :type) AND (:status IS NULL OR b.status = :status) " +
+            "ORDER BY b.bucketDate")
+    List<TransactionSeriesBucket> findSeries(@Param("productId") long productId, @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to, @Param("type") TransactionType type,
+                                             @Param("status") TransactionStatus status);
+
+    // adds (or with negative values removes) transactions to a bucket, creating the bucket if needed
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "transaction_series_bucket"))
+    @Query(value = "INSERT INTO transaction_series_bucket " +
+            "(product_id, bucket_date, transaction_type, status, transaction_count, total_products, total_price) " +
+            "VALUES (:productId, :date, :type, :status, :count, :products, :price) " +
+            "ON DUPLICATE KEY UPDATE transaction_count = transaction_count + VALUES(transaction_count), " +
+            "total_products = total_products + VALUES(total_products), total_price = total_price + VALUES(total_price)",
+            nativeQuery = true)
+    int addToBucket(@Param("productId") long productId, @Param("date") LocalDate date, @Param("type") String type,
+                    @Param("status") String status, @Param("count") long count, @Param("products") long products,
+                    @Param("price") BigDecimal price);
+
+    // one-off rebuild of the all products buckets from the transactions table
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "transaction_series_bucket"))
+    @Query(value = "INSERT INTO transaction_series_bucket " +
+            "(product_id, bucket_date, transaction_type, status, transaction_count, total_products, total_price) " +
+            "SELECT 0, DATE(created_at), transaction_type, status, COUNT(*), " +
+            "COALESCE(SUM(total_products), 0), COALESCE(SUM(total_price), 0) FROM transactions " +
+            "GROUP BY DATE(created_at), transaction_type, status",
+            nativeQuery = true)
+    int rebuildTotalsFromTransactions();
+
+    // one-off rebuild of the per product buckets from the transaction lines
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "transaction_series_bucket"))
+    @Query(value = "INSERT INTO transaction_series_bucket " +
+            "(product_id, bucket_date, transaction_type, status, transaction_count, total_products, total_price) " +
+            "SELECT l.product_id, DATE(t.created_at), t.transaction_type, t.status, COUNT(*), " +
+            "COALESCE(SUM(l.quantity), 0), " +
+            "COALESCE(SUM(CASE WHEN t.total_price = 0 THEN 0 ELSE l.quantity * l.unit_price END), 0) " +
+            "FROM transaction_line l JOIN transactions t ON t.id = l.transaction_id " +
+            "GROUP BY l.product_id, DATE(t.created_at), t.transaction_type, t.status",
+            nativeQuery = true)
+    int rebuildProductsFromTransactionLines();
+}
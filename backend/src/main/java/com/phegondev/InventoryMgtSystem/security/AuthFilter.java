@@ -32,11 +32,12 @@ public class AuthFilter extends OncePerRequestFilter {
         String token = getTokenFromRequest(request);
 
         if (token != null) {
-            String email = jwtUtils.getUsernameFromToken(token);
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+            //verified and checked for expiry in one parse, the principal comes from its cache
+            String email = jwtUtils.parseVerifiedClaims(token).getSubject();
 
-            if (StringUtils.hasText(email) && jwtUtils.isTokeValid(token, userDetails)) {
-                log.info("Valid Token, {}", email);
+            if (StringUtils.hasText(email)) {
+                UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+                log.debug("Valid Token, {}", email);
 
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities()
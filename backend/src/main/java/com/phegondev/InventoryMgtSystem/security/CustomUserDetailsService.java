@@ -3,26 +3,83 @@ package com.phegondev.InventoryMgtSystem.security;
 import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
 import com.phegondev.InventoryMgtSystem.models.User;
 import com.phegondev.InventoryMgtSystem.repositories.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Principals are cached by email for a short TTL, so an authenticated request does not read the users table.
+// UserServiceImpl evicts a user on update and delete; the TTL bounds changes made outside of it.
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    @Value("${auth.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${auth.principal-cache.size:10000}")
+    private int cacheSize;
+
+    private record CachedPrincipal(AuthUser authUser, long expiresAt) {
+    }
+
+    private Map<String, CachedPrincipal> principals;
+    // bumped by every eviction, a lookup that raced with one does not cache what it read
+    private final AtomicLong evictions = new AtomicLong();
+
+    @PostConstruct
+    private void init() {
+        principals = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        CachedPrincipal cached;
+        synchronized (principals) {
+            cached = principals.get(username);
+        }
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.authUser();
+        }
+
+        long generation = evictions.get();
         User user = userRepository.findByEmail(username)
                 .orElseThrow(() -> new NotFoundException("User Email Not Found"));
+        // shared between requests, so detached from its lazy history
+        user.setTransactions(null);
 
-        return AuthUser.builder()
+        AuthUser authUser = AuthUser.builder()
                 .user(user)
                 .build();
+
+        synchronized (principals) {
+            if (evictions.get() == generation) {
+                principals.put(username, new CachedPrincipal(authUser,
+                        System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds)));
+            }
+        }
+        return authUser;
+    }
+
+    public void evict(String username) {
+        synchronized (principals) {
+            evictions.incrementAndGet();
+            principals.remove(username);
+        }
     }
 }
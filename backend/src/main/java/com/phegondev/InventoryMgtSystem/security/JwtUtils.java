@@ -1,18 +1,23 @@
 package com.phegondev.InventoryMgtSystem.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Service
 @Slf4j
@@ -20,6 +25,16 @@ public class JwtUtils {
 
     private static final long EXPIRATION_TIME_IN_MILLISEC = 1000L * 60L * 60L * 24L * 30L * 6L; //expires in 6 months in milleces
     private SecretKey key;
+    private JwtParser parser;
+
+    @Value("${jwt.claims-cache.size:10000}")
+    private int claimsCacheSize;
+
+    private record CachedClaims(Claims claims, long expiresAt) {
+    }
+
+    // tokens already verified, so a repeat request skips the HMAC check and the JSON decoding
+    private Map<String, CachedClaims> verifiedClaims;
 
     @Value("${secreteJwtString}")
     private String secreteJwtString;
@@ -29,6 +44,13 @@ public class JwtUtils {
     private void init() {
         byte[] keyByte = secreteJwtString.getBytes(StandardCharsets.UTF_8);
         this.key = new SecretKeySpec(keyByte, "HmacSHA256");
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedClaims = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedClaims> eldest) {
+                return size() > claimsCacheSize;
+            }
+        };
     }
 
   public String generateToken(String email) {
@@ -46,22 +68,42 @@ public class JwtUtils {
 }
 
 
-    public String getUsernameFromToken(String token) {
-        return extractClaims(token, Claims::getSubject);
-    }
-
-    private <T> T extractClaims(String token, Function<Claims, T> claimsTFunction) {
-        return claimsTFunction.apply(Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload());
+    // the one parse a request needs: signature checked, expiry enforced, claims returned
+    public Claims parseVerifiedClaims(String token) {
+        String digest = digest(token);
+        CachedClaims cached;
+        synchronized (verifiedClaims) {
+            cached = verifiedClaims.get(digest);
+        }
+        if (cached != null) {
+            if (cached.expiresAt() > System.currentTimeMillis()) {
+                return cached.claims();
+            }
+            synchronized (verifiedClaims) {
+                verifiedClaims.remove(digest);
+            }
+            throw new ExpiredJwtException(null, cached.claims(), "JWT expired");
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        long expiresAt = claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime();
+        synchronized (verifiedClaims) {
+            verifiedClaims.put(digest, new CachedClaims(claims, expiresAt));
+        }
+        return claims;
     }
 
-    public boolean isTokeValid(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokeExpired(token));
+    public String getUsernameFromToken(String token) {
+        return parseVerifiedClaims(token).getSubject();
     }
 
-    private boolean isTokeExpired(String token) {
-        return extractClaims(token, Claims::getExpiration).before(new Date());
+    // keyed by a digest so the cache never holds usable tokens
+    private static String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
-
-
 }
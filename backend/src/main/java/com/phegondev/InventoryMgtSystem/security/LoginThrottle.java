@@ -0,0 +1,89 @@
+package com.phegondev.InventoryMgtSystem.security;
+
+import com.phegondev.InventoryMgtSystem.exceptions.LoginThrottledException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// In-memory token buckets for login attempts, one per email and one per client address. An attempt takes a token
+// from both and is turned away, before any password hashing, when either is empty. Buckets refill continuously;
+// the least recently used are dropped past `size`, which at worst gives a forgotten key a full bucket again.
+@Component
+public class LoginThrottle {
+
+    @Value("${auth.login-throttle.email.capacity:5}")
+    private int emailCapacity;
+
+    @Value("${auth.login-throttle.email.refill-per-minute:5}")
+    private double emailRefillPerMinute;
+
+    @Value("${auth.login-throttle.ip.capacity:30}")
+    private int ipCapacity;
+
+    @Value("${auth.login-throttle.ip.refill-per-minute:60}")
+    private double ipRefillPerMinute;
+
+    @Value("${auth.login-throttle.size:50000}")
+    private int size;
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+
+    private Map<String, Bucket> buckets;
+
+    @PostConstruct
+    private void init() {
+        buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                return size() > size;
+            }
+        };
+    }
+
+    public void acquire(String email, String clientAddress) {
+        long now = System.nanoTime();
+        synchronized (buckets) {
+            Bucket byEmail = refill("email:" + email.trim().toLowerCase(Locale.ROOT), emailCapacity, emailRefillPerMinute, now);
+            Bucket byAddress = refill("ip:" + clientAddress, ipCapacity, ipRefillPerMinute, now);
+
+            if (byEmail.tokens < 1 || byAddress.tokens < 1) {
+                long retryAfter = Math.max(secondsUntilToken(byEmail, emailRefillPerMinute),
+                        secondsUntilToken(byAddress, ipRefillPerMinute));
+                throw new LoginThrottledException("Too many login attempts, retry in " + retryAfter + " seconds", retryAfter);
+            }
+            byEmail.tokens--;
+            byAddress.tokens--;
+        }
+    }
+
+    private Bucket refill(String key, int capacity, double refillPerMinute, long now) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new Bucket(capacity, now);
+            buckets.put(key, bucket);
+            return bucket;
+        }
+        double minutes = (now - bucket.refilledAt) / (double) TimeUnit.MINUTES.toNanos(1);
+        bucket.tokens = Math.min(capacity, bucket.tokens + minutes * refillPerMinute);
+        bucket.refilledAt = now;
+        return bucket;
+    }
+
+    private static long secondsUntilToken(Bucket bucket, double refillPerMinute) {
+        if (bucket.tokens >= 1) return 0;
+        return (long) Math.ceil((1 - bucket.tokens) * 60 / refillPerMinute);
+    }
+}
@@ -4,8 +4,10 @@ import com.phegondev.InventoryMgtSystem.exceptions.CustomAccessDenialHandler;
 import com.phegondev.InventoryMgtSystem.exceptions.CustomAuthenticationEntryPoint;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -40,6 +42,8 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(request -> request
                         .requestMatchers("/api/auth/**").permitAll()
+                        // loaded by <img> tags, which carry no token
+                        .requestMatchers(HttpMethod.GET, "/api/images/**").permitAll()
                         
                         .anyRequest().authenticated()
                 )
@@ -49,9 +53,10 @@ public class SecurityConfig {
 
     }
 
+    // raising the strength upgrades existing hashes as their users log in, see UserServiceImpl.loginUser
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -0,0 +1,14 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.enums.SeriesGranularity;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+
+import java.time.LocalDate;
+
+public interface AnalyticsService {
+
+    Response getSeries(SeriesGranularity granularity, LocalDate from, LocalDate to,
+                       TransactionType type, TransactionStatus status, Long productId);
+}
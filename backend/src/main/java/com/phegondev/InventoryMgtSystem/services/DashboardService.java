@@ -0,0 +1,8 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+
+public interface DashboardService {
+
+    Response getSummary();
+}
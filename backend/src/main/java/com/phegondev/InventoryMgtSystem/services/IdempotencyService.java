@@ -0,0 +1,10 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    Response execute(String idempotencyKey, String operation, Supplier<Response> action);
+}
@@ -0,0 +1,19 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.enums.ImageSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+public interface ImageCache {
+
+    record CachedImage(InputStream content, long length, String contentType) {
+    }
+
+    // opens a derivative from local disk, fetching it from storage first on a miss
+    CachedImage open(String sha256, ImageSize size) throws IOException;
+
+    // copies a derivative generated on this node in, so the first request does not have to download it back
+    void put(String sha256, ImageSize size, Path file, String contentType) throws IOException;
+}
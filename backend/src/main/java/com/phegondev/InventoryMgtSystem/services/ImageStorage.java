@@ -0,0 +1,11 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// where product images end up; picked with images.storage (cloudinary or local)
+public interface ImageStorage {
+
+    // stores the file and returns the URL the image is served from
+    String store(Path file, String contentType) throws IOException;
+}
@@ -0,0 +1,20 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+
+public interface ImageUploadService {
+
+    // an upload copied to a temp file, holding a slot in the pipeline until it is uploaded or discarded
+    record StagedImage(Path file, String contentType) {
+    }
+
+    // validates the image and moves it to a temp file; rejected when the pipeline is full
+    StagedImage stage(MultipartFile imageFile);
+
+    // queues the upload once the surrounding transaction commits, discards the image if it rolls back
+    void uploadOnCommit(Long productId, StagedImage stagedImage);
+
+    void discard(StagedImage stagedImage);
+}
@@ -0,0 +1,18 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.enums.InventoryCounterName;
+
+import java.math.BigDecimal;
+
+public interface InventoryCounterService {
+
+    void add(InventoryCounterName name, long delta);
+
+    void add(InventoryCounterName name, BigDecimal delta);
+
+    long getCount(InventoryCounterName name);
+
+    BigDecimal getValue(InventoryCounterName name);
+
+    void verifyAndRepair();
+}
@@ -0,0 +1,12 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+public interface PasswordHashingService {
+
+    // the BCrypt work of the calls below runs on a bounded pool, a full pool rejects instead of queueing the caller
+    String encode(String rawPassword);
+
+    boolean matches(String rawPassword, String encodedPassword);
+
+    // true when the hash was made with a lower cost than the configured one
+    boolean needsRehash(String encodedPassword);
+}
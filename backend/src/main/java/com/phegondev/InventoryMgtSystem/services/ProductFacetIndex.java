@@ -0,0 +1,26 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.dtos.ProductFacetQuery;
+import com.phegondev.InventoryMgtSystem.dtos.ProductFacetsDTO;
+import com.phegondev.InventoryMgtSystem.models.Product;
+
+public interface ProductFacetIndex {
+
+    // false until the initial build from the database has finished
+    boolean isReady();
+
+    void index(Product product);
+
+    // re-reads the product's facet values once the change that wrote them has committed
+    void refresh(Long productId);
+
+    void remove(Long productId);
+
+    // stock moved by an atomic update; applied once the surrounding transaction commits
+    void stockChanged(Long productId, int delta);
+
+    ProductFacetsDTO facets(ProductFacetQuery facetQuery);
+
+    // compares the index with the products table and repairs any product that drifted
+    void reconcile();
+}
@@ -0,0 +1,22 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.models.Product;
+
+import java.util.List;
+
+public interface ProductSearchIndex {
+
+    // false until the initial build from the database has finished
+    boolean isReady();
+
+    void index(Product product);
+
+    void remove(Long productId);
+
+    // product ids ranked by relevance, tolerant to a typo per word
+    List<Long> search(String query, int limit);
+
+    // typeahead on the beginning of the name or sku, returns id, name and sku only
+    List<ProductDTO> suggest(String prefix, int limit);
+}
@@ -1,6 +1,8 @@
 package com.phegondev.InventoryMgtSystem.services;
 
+import com.phegondev.InventoryMgtSystem.dtos.ProductCatalogQuery;
 import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.dtos.ProductFacetQuery;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -10,6 +12,10 @@ public interface ProductService {
     Response updateProduct(ProductDTO productDTO, MultipartFile imageFile);
 
     Response getAllProducts();
+
+    Response getProductCatalog(ProductCatalogQuery catalogQuery);
+
+    Response getProductFacets(ProductFacetQuery facetQuery);
    
 
     Response getProductById(Long id);
@@ -18,5 +24,7 @@ public interface ProductService {
 
     Response searchProduct(String input);
 
+    Response suggestProducts(String prefix, int limit);
+
     long countProducts();
 }
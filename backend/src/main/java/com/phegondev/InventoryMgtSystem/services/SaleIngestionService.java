@@ -0,0 +1,11 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionRequest;
+
+public interface SaleIngestionService {
+
+    Response submitSale(TransactionRequest transactionRequest);
+
+    Response getSaleTicket(String ticketId);
+}
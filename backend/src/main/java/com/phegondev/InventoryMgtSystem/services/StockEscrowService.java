@@ -0,0 +1,8 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+public interface StockEscrowService {
+
+    boolean tryConsume(Long productId, int quantity);
+
+    void flush();
+}
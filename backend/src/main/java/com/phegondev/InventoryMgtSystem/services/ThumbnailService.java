@@ -0,0 +1,16 @@
+package com.phegondev.InventoryMgtSystem.services;
+
+import com.phegondev.InventoryMgtSystem.enums.ImageSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+public interface ThumbnailService {
+
+    record Thumbnails(Map<ImageSize, Path> files, String contentType) {
+    }
+
+    // writes every derivative to a temp file; null when the image format cannot be decoded
+    Thumbnails generate(Path original) throws IOException;
+}
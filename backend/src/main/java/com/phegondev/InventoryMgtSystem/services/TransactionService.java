@@ -5,20 +5,27 @@ import java.util.Map;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
 import com.phegondev.InventoryMgtSystem.dtos.TransactionRequest;
 import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.models.User;
 
 public interface TransactionService {
     Response purchase(TransactionRequest transactionRequest);
 
     Response sell(TransactionRequest transactionRequest);
 
+    Response sell(TransactionRequest transactionRequest, User user);
+
     Response returnToSupplier(TransactionRequest transactionRequest);
 
     Response getAllTransactions(int page, int size, String filter);
 
+    Response getTransactionsByCursor(String cursor, int size, String filter, boolean withCount);
+
     Response getAllTransactionById(Long id);
 
     Response getAllTransactionByMonthAndYear(int month, int year);
 
+    Response getMonthlySummary(int month, int year);
+
     Response updateTransactionStatus(Long transactionId, TransactionStatus status);
 
     
@@ -6,10 +6,12 @@ import com.phegondev.InventoryMgtSystem.dtos.Response;
 import com.phegondev.InventoryMgtSystem.dtos.UserDTO;
 import com.phegondev.InventoryMgtSystem.models.User;
 
+import java.time.LocalDate;
+
 public interface UserService {
     Response registerUser(RegisterRequest registerRequest);
 
-    Response loginUser(LoginRequest loginRequest);
+    Response loginUser(LoginRequest loginRequest, String clientAddress);
 
     Response getAllUsers();
 
@@ -21,5 +23,5 @@ public interface UserService {
 
     Response deleteUser(Long id);
 
-    Response getUserTransactions(Long id);
+    Response getUserTransactions(Long id, String cursor, int size, LocalDate from, LocalDate to);
 }
@@ -0,0 +1,59 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.dtos.TimeSeriesPointDTO;
+import com.phegondev.InventoryMgtSystem.enums.SeriesGranularity;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.exceptions.NameValueRequiredException;
+import com.phegondev.InventoryMgtSystem.models.TransactionSeriesBucket;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionSeriesBucketRepository;
+import com.phegondev.InventoryMgtSystem.services.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private final TransactionSeriesBucketRepository transactionSeriesBucketRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getSeries(SeriesGranularity granularity, LocalDate from, LocalDate to,
+                              TransactionType type, TransactionStatus status, Long productId) {
+        if (from == null || to == null) {
+            throw new NameValueRequiredException("From and To dates are Required");
+        }
+        if (from.isAfter(to)) {
+            throw new NameValueRequiredException("From date must not be after To date");
+        }
+
+        long product = productId == null ? TransactionSeriesBucket.ALL_PRODUCTS : productId;
+
+        // daily buckets are folded into weeks or months here; only non empty buckets are returned
+        Map<LocalDate, TimeSeriesPointDTO> points = new TreeMap<>();
+        for (TransactionSeriesBucket bucket : transactionSeriesBucketRepository.findSeries(product, from, to, type, status)) {
+            TimeSeriesPointDTO point = points.computeIfAbsent(granularity.bucketOf(bucket.getBucketDate()),
+                    date -> new TimeSeriesPointDTO(date, 0L, 0L, BigDecimal.ZERO));
+            point.setTransactionCount(point.getTransactionCount() + bucket.getTransactionCount());
+            point.setTotalProducts(point.getTotalProducts() + bucket.getTotalProducts());
+            point.setTotalPrice(point.getTotalPrice().add(bucket.getTotalPrice()));
+        }
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .series(new ArrayList<>(points.values()))
+                .build();
+    }
+}
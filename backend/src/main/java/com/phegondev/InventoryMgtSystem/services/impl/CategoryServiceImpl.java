@@ -4,13 +4,12 @@ package com.phegondev.InventoryMgtSystem.services.impl;
 import com.phegondev.InventoryMgtSystem.dtos.CategoryDTO;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
 import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.mappers.CategoryMapper;
 import com.phegondev.InventoryMgtSystem.models.Category;
 import com.phegondev.InventoryMgtSystem.repositories.CategoryRepository;
 import com.phegondev.InventoryMgtSystem.services.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
@@ -22,13 +21,13 @@ import java.util.List;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
-    private final ModelMapper modelMapper;
+    private final CategoryMapper categoryMapper;
 
 
     @Override
     public Response createCategory(CategoryDTO categoryDTO) {
 
-        Category categoryToSave = modelMapper.map(categoryDTO, Category.class);
+        Category categoryToSave = categoryMapper.toEntity(categoryDTO);
 
         categoryRepository.save(categoryToSave);
 
@@ -43,10 +42,7 @@ public class CategoryServiceImpl implements CategoryService {
     public Response getAllCategories() {
         List<Category> categories = categoryRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
 
-        categories.forEach(category -> category.setProducts(null));
-
-        List<CategoryDTO> categoryDTOList = modelMapper.map(categories, new TypeToken<List<CategoryDTO>>() {
-        }.getType());
+        List<CategoryDTO> categoryDTOList = categoryMapper.toDTOs(categories);
 
         return Response.builder()
                 .status(200)
@@ -61,7 +57,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Category Not Found"));
 
-        CategoryDTO categoryDTO = modelMapper.map(category, CategoryDTO.class);
+        CategoryDTO categoryDTO = categoryMapper.toDTOWithProducts(category);
 
         return Response.builder()
                 .status(200)
@@ -0,0 +1,34 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.phegondev.InventoryMgtSystem.services.ImageStorage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "images.storage", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStorage implements ImageStorage {
+
+    private final Cloudinary cloudinary;
+
+    @Value("${images.upload.timeout-ms:60000}")
+    private int timeoutMs;
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public String store(Path file, String contentType) throws IOException {
+        // a File is streamed from disk by the HTTP client, never loaded into the heap
+        Map uploadResult = cloudinary.uploader().upload(file.toFile(), ObjectUtils.asMap(
+                "timeout", timeoutMs,
+                "connect_timeout", timeoutMs));
+        return uploadResult.get("secure_url").toString();
+    }
+}
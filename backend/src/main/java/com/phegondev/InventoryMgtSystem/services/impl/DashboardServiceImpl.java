@@ -0,0 +1,87 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.dtos.DashboardSummaryDTO;
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.services.DashboardService;
+import com.phegondev.InventoryMgtSystem.services.ProductService;
+import com.phegondev.InventoryMgtSystem.services.SupplierService;
+import com.phegondev.InventoryMgtSystem.services.TransactionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Runs every dashboard section concurrently on virtual threads; a section that fails or exceeds its timeout
+// is reported as unavailable instead of failing or delaying the whole summary.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+
+    private final TransactionService transactionService;
+    private final ProductService productService;
+    private final SupplierService supplierService;
+
+    @Value("${dashboard.section-timeout-ms:2000}")
+    private long sectionTimeoutMs;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    private void init() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public Response getSummary() {
+
+        CompletableFuture<Double> completedSales = section(transactionService::countCompletedSales);
+        CompletableFuture<Long> products = section(productService::countProducts);
+        CompletableFuture<Long> suppliers = section(supplierService::countSuppliers);
+        CompletableFuture<Map<String, Long>> typeCounts = section(transactionService::countAllTransactionTypes);
+
+        List<String> unavailable = new ArrayList<>();
+        DashboardSummaryDTO summary = new DashboardSummaryDTO();
+        summary.setCompletedSalesTotal(await("completedSalesTotal", completedSales, unavailable));
+        summary.setTotalProducts(await("totalProducts", products, unavailable));
+        summary.setTotalSuppliers(await("totalSuppliers", suppliers, unavailable));
+        summary.setTransactionTypeCounts(await("transactionTypeCounts", typeCounts, unavailable));
+        summary.setUnavailableSections(unavailable.isEmpty() ? null : unavailable);
+
+        return Response.builder()
+                .status(200)
+                .message(unavailable.isEmpty() ? "success" : "partial")
+                .dashboard(summary)
+                .build();
+    }
+
+    private <T> CompletableFuture<T> section(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor).orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private <T> T await(String name, CompletableFuture<T> future, List<String> unavailable) {
+        try {
+            return future.join();
+        } catch (RuntimeException e) {
+            log.warn("Dashboard section {} unavailable: {}", name, e.getMessage());
+            unavailable.add(name);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.models.IdempotencyRecord;
+import com.phegondev.InventoryMgtSystem.repositories.IdempotencyRecordRepository;
+import com.phegondev.InventoryMgtSystem.services.IdempotencyService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Replays the stored outcome of a write when its Idempotency-Key is sent again. Recent keys are answered
+// from a bounded in-memory LRU, older ones from the unique-indexed idempotency_keys table.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    private Map<String, IdempotencyRecord> recentRecords;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    private void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        recentRecords = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public Response execute(String idempotencyKey, String operation, Supplier<Response> action) {
+
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        String key = digest(operation, idempotencyKey);
+
+        Optional<IdempotencyRecord> stored = findRecord(key);
+        if (stored.isPresent()) {
+            log.info("Replaying {} for an already processed Idempotency-Key", operation);
+            return toResponse(stored.get());
+        }
+
+        try {
+            //the write and its key commit together, so a key is never stored for a rolled back write
+            IdempotencyRecord[] committed = new IdempotencyRecord[1];
+            Response response = transactionTemplate.execute(status -> {
+                idempotencyRecordRepository.deleteExpired(key, LocalDateTime.now().minusMinutes(ttlMinutes));
+                Response actionResponse = action.get();
+                committed[0] = IdempotencyRecord.builder()
+                        .idempotencyKey(key)
+                        .responseStatus(actionResponse.getStatus())
+                        .responseMessage(actionResponse.getMessage())
+                        .createdAt(LocalDateTime.now())
+                        .build();
+                idempotencyRecordRepository.saveAndFlush(committed[0]);
+                return actionResponse;
+            });
+            // only once committed, a failed commit must not be replayed as a success
+            cache(committed[0]);
+            return response;
+        } catch (DataIntegrityViolationException e) {
+            //a concurrent request with the same key committed first, its write wins and ours was rolled back
+            return findRecord(key).map(this::toResponse).orElseThrow(() -> e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredRecords() {
+        int deleted = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minusMinutes(ttlMinutes));
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private Optional<IdempotencyRecord> findRecord(String key) {
+        IdempotencyRecord record;
+        synchronized (recentRecords) {
+            record = recentRecords.get(key);
+        }
+        if (record == null) {
+            record = idempotencyRecordRepository.findByIdempotencyKey(key).orElse(null);
+            if (record != null) {
+                cache(record);
+            }
+        }
+        if (record == null || record.getCreatedAt().isBefore(LocalDateTime.now().minusMinutes(ttlMinutes))) {
+            return Optional.empty();
+        }
+        return Optional.of(record);
+    }
+
+    private void cache(IdempotencyRecord record) {
+        synchronized (recentRecords) {
+            recentRecords.put(record.getIdempotencyKey(), record);
+        }
+    }
+
+    private Response toResponse(IdempotencyRecord record) {
+        return Response.builder()
+                .status(record.getResponseStatus())
+                .message(record.getResponseMessage())
+                .build();
+    }
+
+    // keys are scoped to the operation and the caller, so two users can never replay each other's results
+    private String digest(String operation, String idempotencyKey) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String caller = authentication != null ? authentication.getName() : "";
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest((operation + '\n' + caller + '\n' + idempotencyKey)
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
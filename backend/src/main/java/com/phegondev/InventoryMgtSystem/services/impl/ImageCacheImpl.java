@@ -0,0 +1,183 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.enums.ImageSize;
+import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.models.ImageAsset;
+import com.phegondev.InventoryMgtSystem.repositories.ImageAssetRepository;
+import com.phegondev.InventoryMgtSystem.services.ImageCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Least recently served derivatives are deleted once the directory grows past images.cache.max-size. Files are named
+// after the content hash, so an entry never goes stale and survives restarts.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ImageCacheImpl implements ImageCache {
+
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    private final ImageAssetRepository imageAssetRepository;
+
+    @Value("${images.cache.directory:cache/images}")
+    private Path directory;
+
+    @Value("${images.cache.max-size:512MB}")
+    private DataSize maxSize;
+
+    @Value("${images.upload.timeout-ms:60000}")
+    private int timeoutMs;
+
+    private record Entry(Path file, long length) {
+    }
+
+    // access ordered, eldest is the least recently served; guarded by itself
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    @PostConstruct
+    private void load() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.sorted(Comparator.comparing(ImageCacheImpl::lastModified)).toList();
+        }
+        synchronized (entries) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                // leftovers of downloads interrupted by a shutdown
+                if (name.endsWith(".tmp")) Files.deleteIfExists(file);
+                else register(name.substring(0, name.lastIndexOf('.')), file);
+            }
+        }
+        log.info("Image cache holds {} derivatives, {} KB", entries.size(), totalBytes / 1024);
+    }
+
+    @Override
+    public CachedImage open(String sha256, ImageSize size) throws IOException {
+        if (!SHA256.matcher(sha256).matches()) throw new NotFoundException("Image Not Found");
+        String key = key(sha256, size);
+
+        CachedImage cached = openCached(key);
+        if (cached != null) return cached;
+
+        // miss: download outside the lock, a concurrent miss for the same key only costs a second download
+        ImageAsset asset = imageAssetRepository.findBySha256(sha256)
+                .orElseThrow(() -> new NotFoundException("Image Not Found"));
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            URLConnection connection = URI.create(asset.urlOf(size)).toURL().openConnection();
+            connection.setConnectTimeout(timeoutMs);
+            connection.setReadTimeout(timeoutMs);
+            try (InputStream content = connection.getInputStream()) {
+                Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            add(key, temp, asset.getThumbnailContentType());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        cached = openCached(key);
+        if (cached == null) throw new NotFoundException("Image Not Found");
+        return cached;
+    }
+
+    @Override
+    public void put(String sha256, ImageSize size, Path file, String contentType) throws IOException {
+        Path temp = Files.createTempFile(directory, key(sha256, size), ".tmp");
+        try {
+            Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+            add(key(sha256, size), temp, contentType);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // opened under the lock so eviction cannot delete the file in between; an open file outlives its deletion
+    private CachedImage openCached(String key) throws IOException {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) return null;
+            try {
+                return new CachedImage(Files.newInputStream(entry.file()), entry.length(), contentType(entry.file()));
+            } catch (NoSuchFileException e) {
+                entries.remove(key);
+                totalBytes -= entry.length();
+                return null;
+            }
+        }
+    }
+
+    private void add(String key, Path temp, String contentType) throws IOException {
+        Path file = directory.resolve(key + "." + extension(contentType));
+        synchronized (entries) {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Entry previous = entries.remove(key);
+            if (previous != null) totalBytes -= previous.length();
+            register(key, file);
+        }
+    }
+
+    private void register(String key, Path file) throws IOException {
+        long length = Files.size(file);
+        entries.put(key, new Entry(file, length));
+        totalBytes += length;
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxSize.toBytes() && entries.size() > 1) {
+            Entry evicted = eldest.next().getValue();
+            eldest.remove();
+            totalBytes -= evicted.length();
+            Files.deleteIfExists(evicted.file());
+        }
+    }
+
+    private static String key(String sha256, ImageSize size) {
+        return sha256 + "-" + size.name().toLowerCase();
+    }
+
+    private static String extension(String contentType) {
+        String subtype = contentType.substring(contentType.indexOf('/') + 1).replaceAll("[^a-z0-9]", "");
+        return subtype.equals("jpeg") ? "jpg" : subtype;
+    }
+
+    // anything but the common raster formats goes out as a download, never rendered from this origin
+    private static String contentType(Path file) {
+        String name = file.getFileName().toString();
+        return switch (name.substring(name.lastIndexOf('.') + 1)) {
+            case "jpg" -> "image/jpeg";
+            case "png" -> "image/png";
+            case "gif" -> "image/gif";
+            case "webp" -> "image/webp";
+            default -> "application/octet-stream";
+        };
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
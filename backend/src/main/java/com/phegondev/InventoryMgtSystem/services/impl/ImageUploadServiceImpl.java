@@ -0,0 +1,235 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.enums.ImageSize;
+import com.phegondev.InventoryMgtSystem.enums.ImageStatus;
+import com.phegondev.InventoryMgtSystem.exceptions.ImageUploadBusyException;
+import com.phegondev.InventoryMgtSystem.exceptions.NameValueRequiredException;
+import com.phegondev.InventoryMgtSystem.models.ImageAsset;
+import com.phegondev.InventoryMgtSystem.repositories.ImageAssetRepository;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.services.ImageCache;
+import com.phegondev.InventoryMgtSystem.services.ImageStorage;
+import com.phegondev.InventoryMgtSystem.services.ImageUploadService;
+import com.phegondev.InventoryMgtSystem.services.ThumbnailService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Moves product images out of the request: the multipart body is moved to a temp file, the product is saved with a
+// PENDING image and a fixed pool of workers uploads the file and records the URL. At most workers + queueCapacity
+// images are staged at a time; beyond that new uploads are turned away instead of piling up on disk.
+// Images are content addressed: the worker hashes the file and reuses the stored asset when the bytes are known,
+// otherwise it stores the original and its thumbnails once.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ImageUploadServiceImpl implements ImageUploadService {
+
+    private final ImageStorage imageStorage;
+    private final ThumbnailService thumbnailService;
+    private final ImageCache imageCache;
+    private final ImageAssetRepository imageAssetRepository;
+    private final ProductRepository productRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${images.upload.workers:4}")
+    private int workers;
+
+    @Value("${images.upload.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${images.max-size:20MB}")
+    private DataSize maxSize;
+
+    private Semaphore slots;
+    private ExecutorService executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    private void start() {
+        slots = new Semaphore(workers + queueCapacity);
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("image-upload-", 0).factory());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    private void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public StagedImage stage(MultipartFile imageFile) {
+        String contentType = imageFile.getContentType();
+        if (contentType == null || !contentType.startsWith("image/"))
+            throw new NameValueRequiredException("Only image files are allowed");
+        if (imageFile.getSize() > maxSize.toBytes())
+            throw new NameValueRequiredException("Image must not exceed " + maxSize.toMegabytes() + "MB");
+
+        if (!slots.tryAcquire())
+            throw new ImageUploadBusyException("Too many images are being uploaded, retry later");
+
+        Path file = null;
+        try {
+            // moves the part the container already spooled to disk, the bytes never go through the heap
+            file = Files.createTempFile("product-image-", null);
+            imageFile.transferTo(file);
+            return new StagedImage(file, contentType);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            slots.release();
+            throw new IllegalStateException("Could not store the uploaded image: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void uploadOnCommit(Long productId, StagedImage stagedImage) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(productId, stagedImage);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) submit(productId, stagedImage);
+                else discard(stagedImage);
+            }
+        });
+    }
+
+    @Override
+    public void discard(StagedImage stagedImage) {
+        deleteQuietly(stagedImage.file());
+        slots.release();
+    }
+
+    private void submit(Long productId, StagedImage stagedImage) {
+        try {
+            executor.execute(() -> upload(productId, stagedImage));
+        } catch (RejectedExecutionException e) {
+            // only once shutting down, the slots keep the queue from overflowing
+            log.warn("Image upload for product {} rejected: {}", productId, e.getMessage());
+            recordImage(productId, null, null, ImageStatus.FAILED);
+            discard(stagedImage);
+        }
+    }
+
+    private void upload(Long productId, StagedImage stagedImage) {
+        try {
+            // identical bytes uploaded before are not sent to storage again
+            String sha256 = sha256(stagedImage.file());
+            ImageAsset asset = imageAssetRepository.findBySha256(sha256).orElse(null);
+            if (asset == null) asset = ingest(sha256, stagedImage);
+            recordImage(productId, asset.getUrl(), sha256, ImageStatus.READY);
+        } catch (Exception e) {
+            log.error("Image upload for product {} failed: {}", productId, e.getMessage());
+            recordImage(productId, null, null, ImageStatus.FAILED);
+        } finally {
+            discard(stagedImage);
+        }
+    }
+
+    // stores the original and its thumbnails; formats the decoder does not know are served as the original
+    private ImageAsset ingest(String sha256, StagedImage stagedImage) throws IOException {
+        String url = imageStorage.store(stagedImage.file(), stagedImage.contentType());
+        ImageAsset asset = ImageAsset.builder()
+                .sha256(sha256)
+                .url(url)
+                .smallUrl(url)
+                .mediumUrl(url)
+                .largeUrl(url)
+                .thumbnailContentType(stagedImage.contentType())
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        ThumbnailService.Thumbnails thumbnails = null;
+        try {
+            thumbnails = thumbnailService.generate(stagedImage.file());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not generate thumbnails for image {}: {}", sha256, e.getMessage());
+        }
+        if (thumbnails != null) {
+            try {
+                for (Map.Entry<ImageSize, Path> thumbnail : thumbnails.files().entrySet()) {
+                    String thumbnailUrl = imageStorage.store(thumbnail.getValue(), thumbnails.contentType());
+                    switch (thumbnail.getKey()) {
+                        case SMALL -> asset.setSmallUrl(thumbnailUrl);
+                        case MEDIUM -> asset.setMediumUrl(thumbnailUrl);
+                        case LARGE -> asset.setLargeUrl(thumbnailUrl);
+                    }
+                    imageCache.put(sha256, thumbnail.getKey(), thumbnail.getValue(), thumbnails.contentType());
+                }
+                asset.setThumbnailContentType(thumbnails.contentType());
+            } finally {
+                thumbnails.files().values().forEach(ImageUploadServiceImpl::deleteQuietly);
+            }
+        }
+
+        try {
+            return imageAssetRepository.save(asset);
+        } catch (DataIntegrityViolationException e) {
+            // the same image was ingested concurrently for another product
+            return imageAssetRepository.findBySha256(sha256).orElseThrow(() -> e);
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream input = new DigestInputStream(Files.newInputStream(file), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void recordImage(Long productId, String imageUrl, String imageHash, ImageStatus imageStatus) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    productRepository.updateImage(productId, imageUrl, imageHash, imageStatus));
+        } catch (RuntimeException e) {
+            log.error("Could not record image of product {}: {}", productId, e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temp image {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.enums.InventoryCounterName;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.models.InventoryCounter;
+import com.phegondev.InventoryMgtSystem.repositories.InventoryCounterRepository;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
+import com.phegondev.InventoryMgtSystem.services.InventoryCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class InventoryCounterServiceImpl implements InventoryCounterService {
+
+    private final InventoryCounterRepository inventoryCounterRepository;
+    private final ProductRepository productRepository;
+    private final SupplierRepository supplierRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Override
+    public void add(InventoryCounterName name, long delta) {
+        add(name, BigDecimal.valueOf(delta));
+    }
+
+    @Override
+    public void add(InventoryCounterName name, BigDecimal delta) {
+        if (delta.signum() != 0) {
+            inventoryCounterRepository.add(name.name(), delta);
+        }
+    }
+
+    @Override
+    public long getCount(InventoryCounterName name) {
+        return getValue(name).longValue();
+    }
+
+    @Override
+    public BigDecimal getValue(InventoryCounterName name) {
+        return inventoryCounterRepository.findById(name)
+                .map(InventoryCounter::getValue)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    // Recomputes every counter from the source tables and corrects any drift. The aggregates and the counters
+    // are read from the same repeatable-read snapshot and the correction is applied as a relative update, so
+    // writes committed while the verifier runs are not lost. The first run also seeds the counters.
+    @Override
+    @Scheduled(initialDelayString = "${inventory.counters.verify-initial-delay-ms:10000}",
+            fixedDelayString = "${inventory.counters.verify-interval-ms:3600000}")
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void verifyAndRepair() {
+        Map<InventoryCounterName, BigDecimal> actual = new EnumMap<>(InventoryCounterName.class);
+        actual.put(InventoryCounterName.PRODUCTS, BigDecimal.valueOf(productRepository.count()));
+        actual.put(InventoryCounterName.SUPPLIERS, BigDecimal.valueOf(supplierRepository.count()));
+
+        actual.put(InventoryCounterName.COMPLETED_SALES_TOTAL,
+                transactionRepository.sumTotalPriceByTypeAndStatus(TransactionType.SALE, TransactionStatus.COMPLETED));
+
+        for (TransactionType type : TransactionType.values()) {
+            actual.put(InventoryCounterName.transactionsOf(type), BigDecimal.ZERO);
+        }
+        for (Object[] result : transactionRepository.countAllTransactionTypes()) {
+            actual.put(InventoryCounterName.transactionsOf((TransactionType) result[0]), BigDecimal.valueOf((Long) result[1]));
+        }
+
+        actual.forEach((name, value) -> {
+            BigDecimal drift = value.setScale(2, RoundingMode.HALF_UP).subtract(getValue(name));
+            if (drift.signum() != 0) {
+                log.warn("Inventory counter {} drifted by {}, repairing", name, drift);
+                add(name, drift);
+            }
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.services.ImageStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+// keeps images on the local filesystem, for tests and development without a Cloudinary account
+@Service
+@ConditionalOnProperty(name = "images.storage", havingValue = "local")
+public class LocalImageStorage implements ImageStorage {
+
+    @Value("${images.local-directory:uploads/images}")
+    private Path directory;
+
+    @Override
+    public String store(Path file, String contentType) throws IOException {
+        Files.createDirectories(directory);
+        String extension = contentType.substring(contentType.indexOf('/') + 1).replaceAll("[^a-z0-9]", "");
+        Path target = directory.resolve(UUID.randomUUID() + "." + extension);
+        Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+        return target.toAbsolutePath().toUri().toString();
+    }
+}
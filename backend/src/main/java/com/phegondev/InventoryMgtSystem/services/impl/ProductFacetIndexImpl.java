@@ -0,0 +1,619 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.dtos.ProductFacetQuery;
+import com.phegondev.InventoryMgtSystem.dtos.ProductFacetsDTO;
+import com.phegondev.InventoryMgtSystem.enums.ExpiryWindow;
+import com.phegondev.InventoryMgtSystem.enums.StockStatus;
+import com.phegondev.InventoryMgtSystem.exceptions.IndexNotReadyException;
+import com.phegondev.InventoryMgtSystem.exceptions.NameValueRequiredException;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.services.ProductFacetIndex;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory facet index: one compressed bitmap of product ids per category, price band, stock status and expiry day,
+// plus the facet values of every product packed in arrays indexed by product id. A facet query ORs the selected values
+// of each facet and ANDs the facets together; each facet is counted against the other facets' selections only.
+// Narrow queries walk the products of the two smallest selections once ("drill sideways"), broad ones intersect the
+// bitmaps. Expiry is kept per day because the windows move with the date.
+// Stock moves arrive as deltas after each commit. A delta for a product the initial build has not reached yet is held
+// and replayed once the product is loaded; whatever still slips through is caught by the periodic reconcile.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductFacetIndexImpl implements ProductFacetIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+    private static final int MAX_FACET_IDS = 10_000;
+    // below one product in SCAN_RATIO, walking the candidates beats intersecting the bitmaps
+    private static final int SCAN_RATIO = 4;
+    private static final int NONE = -1;
+    private static final int NO_EXPIRY_DAY = Integer.MIN_VALUE;
+
+    private static final int CATEGORY = 0;
+    private static final int PRICE_BAND = 1;
+    private static final int STOCK_STATUS = 2;
+    private static final int EXPIRY_WINDOW = 3;
+    private static final int FACETS = 4;
+
+    private final ProductRepository productRepository;
+
+    @Value("${products.low-stock-threshold:5}")
+    private int lowStockThreshold;
+
+    // upper bounds of the price bands, the last band is open ended
+    @Value("${products.facets.price-bands:10,50,100,500,1000}")
+    private BigDecimal[] priceBandBounds;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<Long, Integer> categoryOrdinals = new HashMap<>();
+    private final List<Long> categoryIds = new ArrayList<>();
+    private final List<RoaringBitmap> byCategory = new ArrayList<>();
+    private final List<RoaringBitmap> byPriceBand = new ArrayList<>();
+    private final List<RoaringBitmap> byStockStatus = new ArrayList<>();
+    private final TreeMap<Integer, RoaringBitmap> byExpiryDay = new TreeMap<>();
+    private final RoaringBitmap noExpiry = new RoaringBitmap();
+    private List<String> priceBandLabels;
+
+    // per product id: category ordinal + 1 in bits 0-15, price band + 1 in bits 16-23, stock status in bits 24-31
+    // and expiry day in the upper half, so a scan reads one word per product
+    private long[] packedFacets = new long[0];
+    private int[] stockOf = new int[0];
+
+    // stock deltas for products the initial build has not loaded yet, null once it is done
+    private Map<Integer, Integer> pendingStockDeltas = new HashMap<>();
+    // products changed while the reconcile compares a batch, left to the next run; null when none runs
+    private Set<Integer> changedDuringReconcile;
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    private void init() {
+        priceBandLabels = new ArrayList<>();
+        BigDecimal lower = BigDecimal.ZERO;
+        for (BigDecimal upper : priceBandBounds) {
+            priceBandLabels.add(lower.toPlainString() + "-" + upper.toPlainString());
+            lower = upper;
+        }
+        priceBandLabels.add(lower.toPlainString() + "+");
+        priceBandLabels.forEach(label -> byPriceBand.add(new RoaringBitmap()));
+        for (StockStatus status : StockStatus.values()) byStockStatus.add(new RoaringBitmap());
+    }
+
+    // built off the startup thread, like the search index
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRebuild() {
+        Thread.ofVirtual().name("product-facet-index").start(this::rebuild);
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        long lastId = 0;
+        List<ProductRepository.FacetFields> batch;
+        do {
+            batch = productRepository.findFacetFieldsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (ProductRepository.FacetFields fields : batch) {
+                    int id = Math.toIntExact(fields.getId());
+                    if (!all.contains(id)) {
+                        put(id, fields.getCategoryId(), fields.getPrice(), fields.getStockQuantity(), fields.getExpiryDate());
+                        // committed after the batch was read
+                        Integer delta = pendingStockDeltas.remove(id);
+                        if (delta != null) applyStockDelta(id, delta);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) lastId = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            pendingStockDeltas = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed product facets up to id {} in {} ms", lastId, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            int id = Math.toIntExact(product.getId());
+            changed(id);
+            if (all.contains(id)) clear(id);
+            put(id, product.getCategory() == null ? null : product.getCategory().getId(), product.getPrice(),
+                    product.getStockQuantity(), product.getExpiryDate());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void refresh(Long productId) {
+        ProductRepository.FacetFields fields = productRepository.findFacetFieldsById(productId).orElse(null);
+        lock.writeLock().lock();
+        try {
+            int id = Math.toIntExact(productId);
+            changed(id);
+            if (all.contains(id)) clear(id);
+            if (fields != null) {
+                put(id, fields.getCategoryId(), fields.getPrice(), fields.getStockQuantity(), fields.getExpiryDate());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            int id = Math.toIntExact(productId);
+            changed(id);
+            if (all.contains(id)) clear(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void stockChanged(Long productId, int delta) {
+        Runnable apply = () -> {
+            lock.writeLock().lock();
+            try {
+                int id = Math.toIntExact(productId);
+                changed(id);
+                if (all.contains(id)) {
+                    applyStockDelta(id, delta);
+                } else if (pendingStockDeltas != null) {
+                    pendingStockDeltas.merge(id, delta, Integer::sum);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    // Walks the products table in batches and reloads every product whose indexed facets differ from its row, and
+    // drops indexed products that no longer exist. A product changed between reading a batch and comparing it is
+    // skipped, its row being possibly older than the index.
+    @Override
+    @Scheduled(initialDelayString = "${products.facets.reconcile-interval-ms:600000}",
+            fixedDelayString = "${products.facets.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        if (!ready) return;
+        long lastId = 0;
+        int repaired = 0;
+        List<ProductRepository.FacetFields> batch;
+        do {
+            lock.writeLock().lock();
+            try {
+                changedDuringReconcile = new HashSet<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            batch = productRepository.findFacetFieldsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            boolean last = batch.size() < REBUILD_BATCH_SIZE;
+            long batchEnd = last ? Integer.MAX_VALUE : batch.get(batch.size() - 1).getId();
+
+            lock.writeLock().lock();
+            try {
+                RoaringBitmap stale = new RoaringBitmap();
+                stale.add(lastId + 1, batchEnd + 1);
+                stale.and(all);
+                for (ProductRepository.FacetFields fields : batch) {
+                    int id = Math.toIntExact(fields.getId());
+                    stale.remove(id);
+                    if (changedDuringReconcile.contains(id) || (all.contains(id) && indexed(id, fields))) continue;
+                    if (all.contains(id)) clear(id);
+                    put(id, fields.getCategoryId(), fields.getPrice(), fields.getStockQuantity(), fields.getExpiryDate());
+                    repaired++;
+                }
+                for (int id : stale) {
+                    if (changedDuringReconcile.contains(id)) continue;
+                    clear(id);
+                    repaired++;
+                }
+                changedDuringReconcile = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            lastId = batchEnd;
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        if (repaired > 0) log.warn("Product facet index drifted from the database on {} products, repaired", repaired);
+    }
+
+    @Override
+    public ProductFacetsDTO facets(ProductFacetQuery facetQuery) {
+        if (!ready) throw new IndexNotReadyException("Product facets are still loading, please retry shortly");
+
+        int limit = facetQuery.getLimit() == null ? 100 : facetQuery.getLimit();
+        if (limit < 0 || limit > MAX_FACET_IDS)
+            throw new NameValueRequiredException("Limit must be between 0 and " + MAX_FACET_IDS);
+
+        // accepted values of each facet, null when the facet has no selection
+        boolean[][] selected = new boolean[FACETS][];
+        if (facetQuery.getPriceBand() != null && !facetQuery.getPriceBand().isEmpty()) {
+            selected[PRICE_BAND] = new boolean[priceBandLabels.size()];
+            for (String label : facetQuery.getPriceBand()) {
+                int band = priceBandLabels.indexOf(label);
+                if (band < 0) throw new NameValueRequiredException("Price band must be one of " + priceBandLabels);
+                selected[PRICE_BAND][band] = true;
+            }
+        }
+        if (facetQuery.getStockStatus() != null && !facetQuery.getStockStatus().isEmpty()) {
+            selected[STOCK_STATUS] = new boolean[StockStatus.values().length];
+            facetQuery.getStockStatus().forEach(status -> selected[STOCK_STATUS][status.ordinal()] = true);
+        }
+        if (facetQuery.getExpiryWindow() != null && !facetQuery.getExpiryWindow().isEmpty()) {
+            selected[EXPIRY_WINDOW] = new boolean[ExpiryWindow.values().length];
+            facetQuery.getExpiryWindow().forEach(window -> selected[EXPIRY_WINDOW][window.ordinal()] = true);
+        }
+        int today = (int) LocalDate.now().toEpochDay();
+
+        lock.readLock().lock();
+        try {
+            if (facetQuery.getCategoryId() != null && !facetQuery.getCategoryId().isEmpty()) {
+                selected[CATEGORY] = new boolean[byCategory.size()];
+                for (Long categoryId : facetQuery.getCategoryId()) {
+                    Integer ordinal = categoryOrdinals.get(categoryId);
+                    if (ordinal != null) selected[CATEGORY][ordinal] = true;
+                }
+            }
+
+            // selected facets, smallest selection first
+            List<Integer> selectedFacets = new ArrayList<>();
+            long[] selectionSizes = new long[FACETS];
+            for (int facet = 0; facet < FACETS; facet++) {
+                if (selected[facet] == null) continue;
+                selectedFacets.add(facet);
+                for (RoaringBitmap bitmap : valueBitmaps(facet, selected[facet], today)) {
+                    selectionSizes[facet] += bitmap.getLongCardinality();
+                }
+            }
+            selectedFacets.sort(Comparator.comparingLong(facet -> selectionSizes[facet]));
+
+            long[][] counts = {
+                    new long[byCategory.size()], new long[byPriceBand.size()],
+                    new long[StockStatus.values().length], new long[ExpiryWindow.values().length]
+            };
+            ProductFacetsDTO facetsDTO = new ProductFacetsDTO();
+
+            if (selectedFacets.isEmpty()) {
+                for (int facet = 0; facet < FACETS; facet++) addCardinalities(counts[facet], facet, null, today);
+                facetsDTO.setTotalMatches(all.getLongCardinality());
+                facetsDTO.setProductIds(newestFirst(all, limit));
+            } else {
+                // a product counts somewhere only if it misses at most one facet, so it sits in one of the two
+                // smallest selections
+                RoaringBitmap candidates = selection(selectedFacets.get(0), selected, today);
+                if (selectedFacets.size() > 1) candidates.or(selection(selectedFacets.get(1), selected, today));
+
+                if (candidates.getLongCardinality() * SCAN_RATIO < all.getLongCardinality()) {
+                    drillSideways(candidates, selected, selectedFacets, counts, limit, today, facetsDTO);
+                } else {
+                    intersect(selected, counts, limit, today, facetsDTO);
+                }
+            }
+
+            Map<Long, Long> categoryCounts = new LinkedHashMap<>();
+            for (int ordinal = 0; ordinal < counts[CATEGORY].length; ordinal++) {
+                if (counts[CATEGORY][ordinal] > 0) categoryCounts.put(categoryIds.get(ordinal), counts[CATEGORY][ordinal]);
+            }
+            facetsDTO.setCategoryCounts(categoryCounts);
+
+            Map<String, Long> priceBandCounts = new LinkedHashMap<>();
+            for (int band = 0; band < counts[PRICE_BAND].length; band++) {
+                priceBandCounts.put(priceBandLabels.get(band), counts[PRICE_BAND][band]);
+            }
+            facetsDTO.setPriceBandCounts(priceBandCounts);
+
+            Map<StockStatus, Long> stockStatusCounts = new EnumMap<>(StockStatus.class);
+            for (StockStatus status : StockStatus.values()) {
+                stockStatusCounts.put(status, counts[STOCK_STATUS][status.ordinal()]);
+            }
+            facetsDTO.setStockStatusCounts(stockStatusCounts);
+
+            Map<ExpiryWindow, Long> expiryWindowCounts = new EnumMap<>(ExpiryWindow.class);
+            for (ExpiryWindow window : ExpiryWindow.values()) {
+                expiryWindowCounts.put(window, counts[EXPIRY_WINDOW][window.ordinal()]);
+            }
+            facetsDTO.setExpiryWindowCounts(expiryWindowCounts);
+
+            return facetsDTO;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One pass over the candidates: a product matching every facet counts for all of them, one missing exactly one
+    // facet counts for that facet only. With a single selected facet its own counts are over every product.
+    // The tests are table lookups rather than branches, facet values being effectively random from one id to the next.
+    private void drillSideways(RoaringBitmap candidates, boolean[][] selected, List<Integer> selectedFacets,
+                               long[][] counts, int limit, int today, ProductFacetsDTO facetsDTO) {
+        int onlyFacet = selectedFacets.size() == 1 ? selectedFacets.get(0) : NONE;
+        if (onlyFacet != NONE) addCardinalities(counts[onlyFacet], onlyFacet, null, today);
+
+        // per facet, value + 1 -> accepted, slot 0 standing for "no value"
+        boolean[][] accepted = new boolean[FACETS][];
+        long[][] slotCounts = new long[FACETS][];
+        for (int facet = 0; facet < FACETS; facet++) {
+            accepted[facet] = new boolean[counts[facet].length + 1];
+            for (int value = 0; value < counts[facet].length; value++) {
+                accepted[facet][value + 1] = selected[facet] == null || selected[facet][value];
+            }
+            accepted[facet][0] = selected[facet] == null;
+            slotCounts[facet] = new long[counts[facet].length + 1];
+        }
+
+        List<Long> ids = new ArrayList<>(Math.min(limit, candidates.getCardinality()));
+        long matches = 0;
+        int[] slots = new int[FACETS];
+        IntIterator iterator = candidates.getReverseIntIterator();
+        while (iterator.hasNext()) {
+            int id = iterator.next();
+            long packed = packedFacets[id];
+            for (int facet = 0; facet < FACETS; facet++) slots[facet] = valueOf(facet, packed, today) + 1;
+
+            int missedFacets = 0;
+            for (int facet = 0; facet < FACETS; facet++) {
+                missedFacets |= accepted[facet][slots[facet]] ? 0 : 1 << facet;
+            }
+            if (missedFacets == 0) {
+                matches++;
+                if (ids.size() < limit) ids.add((long) id);
+                for (int facet = 0; facet < FACETS; facet++) slotCounts[facet][slots[facet]]++;
+            } else if (Integer.bitCount(missedFacets) == 1) {
+                int facet = Integer.numberOfTrailingZeros(missedFacets);
+                slotCounts[facet][slots[facet]]++;
+            }
+        }
+
+        for (int facet = 0; facet < FACETS; facet++) {
+            if (facet == onlyFacet) continue;
+            for (int value = 0; value < counts[facet].length; value++) counts[facet][value] += slotCounts[facet][value + 1];
+        }
+        facetsDTO.setTotalMatches(matches);
+        facetsDTO.setProductIds(ids);
+    }
+
+    // broad selections: AND the bitmaps and count each value against the other facets' intersection
+    private void intersect(boolean[][] selected, long[][] counts, int limit, int today, ProductFacetsDTO facetsDTO) {
+        RoaringBitmap[] selections = new RoaringBitmap[FACETS];
+        for (int facet = 0; facet < FACETS; facet++) {
+            if (selected[facet] != null) selections[facet] = selection(facet, selected, today);
+        }
+
+        RoaringBitmap matches = intersectExcept(selections, NONE);
+        facetsDTO.setTotalMatches(matches.getLongCardinality());
+        facetsDTO.setProductIds(newestFirst(matches, limit));
+        for (int facet = 0; facet < FACETS; facet++) {
+            addCardinalities(counts[facet], facet, intersectExcept(selections, facet), today);
+        }
+    }
+
+    // the products narrowed by every selected facet except skip, null when nothing narrows them
+    // smallest selection first, so every AND works on the shortest containers
+    private static RoaringBitmap intersectExcept(RoaringBitmap[] selections, int skip) {
+        List<RoaringBitmap> narrowing = new ArrayList<>();
+        for (int facet = 0; facet < FACETS; facet++) {
+            if (facet != skip && selections[facet] != null) narrowing.add(selections[facet]);
+        }
+        if (narrowing.isEmpty()) return null;
+        narrowing.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+
+        RoaringBitmap result = narrowing.get(0).clone();
+        for (int i = 1; i < narrowing.size() && !result.isEmpty(); i++) result.and(narrowing.get(i));
+        return result;
+    }
+
+    // adds the count of every value of a facet within scope, all products when scope is null
+    private void addCardinalities(long[] counts, int facet, RoaringBitmap scope, int today) {
+        if (facet == EXPIRY_WINDOW) {
+            byExpiryDay.forEach((day, bitmap) -> counts[expiryWindow(day, today).ordinal()] += cardinality(scope, bitmap));
+            counts[ExpiryWindow.NO_EXPIRY.ordinal()] += cardinality(scope, noExpiry);
+            return;
+        }
+        List<RoaringBitmap> bitmaps = facet == CATEGORY ? byCategory : facet == PRICE_BAND ? byPriceBand : byStockStatus;
+        for (int value = 0; value < counts.length; value++) counts[value] += cardinality(scope, bitmaps.get(value));
+    }
+
+    private static long cardinality(RoaringBitmap scope, RoaringBitmap bitmap) {
+        return scope == null ? bitmap.getLongCardinality() : RoaringBitmap.andCardinality(scope, bitmap);
+    }
+
+    private RoaringBitmap selection(int facet, boolean[][] selected, int today) {
+        return FastAggregation.or(valueBitmaps(facet, selected[facet], today).iterator());
+    }
+
+    // the bitmaps behind the accepted values of a facet
+    private List<RoaringBitmap> valueBitmaps(int facet, boolean[] accepted, int today) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        if (facet == EXPIRY_WINDOW) {
+            byExpiryDay.forEach((day, bitmap) -> {
+                if (accepted[expiryWindow(day, today).ordinal()]) bitmaps.add(bitmap);
+            });
+            if (accepted[ExpiryWindow.NO_EXPIRY.ordinal()]) bitmaps.add(noExpiry);
+            return bitmaps;
+        }
+        List<RoaringBitmap> values = facet == CATEGORY ? byCategory : facet == PRICE_BAND ? byPriceBand : byStockStatus;
+        for (int value = 0; value < accepted.length; value++) {
+            if (accepted[value]) bitmaps.add(values.get(value));
+        }
+        return bitmaps;
+    }
+
+    // the value of a facet for one product's packed facets, NONE when it has none
+    private static int valueOf(int facet, long packed, int today) {
+        return switch (facet) {
+            case CATEGORY -> (int) (packed & 0xFFFF) - 1;
+            case PRICE_BAND -> (int) ((packed >>> 16) & 0xFF) - 1;
+            case STOCK_STATUS -> (int) ((packed >>> 24) & 0xFF);
+            default -> expiryWindow(expiryDay(packed), today).ordinal();
+        };
+    }
+
+    private static int expiryDay(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    private static List<Long> newestFirst(RoaringBitmap matches, int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+        IntIterator iterator = matches.getReverseIntIterator();
+        while (iterator.hasNext() && ids.size() < limit) ids.add((long) iterator.next());
+        return ids;
+    }
+
+    private void put(int id, Long categoryId, BigDecimal price, Integer stockQuantity, LocalDateTime expiryDate) {
+        ensureCapacity(id + 1);
+        all.add(id);
+
+        int category = NONE;
+        if (categoryId != null) {
+            category = categoryOrdinals.computeIfAbsent(categoryId, key -> {
+                categoryIds.add(key);
+                byCategory.add(new RoaringBitmap());
+                return categoryIds.size() - 1;
+            });
+            byCategory.get(category).add(id);
+        }
+
+        int band = priceBand(price);
+        if (band != NONE) byPriceBand.get(band).add(id);
+
+        stockOf[id] = stockQuantity == null ? 0 : stockQuantity;
+        int status = stockStatus(stockOf[id]).ordinal();
+        byStockStatus.get(status).add(id);
+
+        int expiryDay = expiryDate == null ? NO_EXPIRY_DAY : (int) expiryDate.toLocalDate().toEpochDay();
+        if (expiryDate == null) noExpiry.add(id);
+        else byExpiryDay.computeIfAbsent(expiryDay, key -> new RoaringBitmap()).add(id);
+
+        packedFacets[id] = (category + 1) | ((band + 1) << 16) | (status << 24) | ((long) expiryDay << 32);
+    }
+
+    private void applyStockDelta(int id, int delta) {
+        byStockStatus.get(valueOf(STOCK_STATUS, packedFacets[id], 0)).remove(id);
+        stockOf[id] += delta;
+        int status = stockStatus(stockOf[id]).ordinal();
+        packedFacets[id] = (packedFacets[id] & ~0xFF000000L) | ((long) status << 24);
+        byStockStatus.get(status).add(id);
+    }
+
+    private void changed(int id) {
+        if (changedDuringReconcile != null) changedDuringReconcile.add(id);
+    }
+
+    // whether the indexed facets of a product are those of its row
+    private boolean indexed(int id, ProductRepository.FacetFields fields) {
+        long packed = packedFacets[id];
+        int category = valueOf(CATEGORY, packed, 0);
+        Long categoryId = category == NONE ? null : categoryIds.get(category);
+        int expiryDay = fields.getExpiryDate() == null ? NO_EXPIRY_DAY
+                : (int) fields.getExpiryDate().toLocalDate().toEpochDay();
+        int stock = fields.getStockQuantity() == null ? 0 : fields.getStockQuantity();
+        return Objects.equals(categoryId, fields.getCategoryId())
+                && valueOf(PRICE_BAND, packed, 0) == priceBand(fields.getPrice())
+                && stockOf[id] == stock
+                && expiryDay(packed) == expiryDay;
+    }
+
+    private void clear(int id) {
+        all.remove(id);
+        long packed = packedFacets[id];
+        int category = valueOf(CATEGORY, packed, 0);
+        if (category != NONE) byCategory.get(category).remove(id);
+        int band = valueOf(PRICE_BAND, packed, 0);
+        if (band != NONE) byPriceBand.get(band).remove(id);
+        byStockStatus.get(valueOf(STOCK_STATUS, packed, 0)).remove(id);
+        int expiryDay = expiryDay(packed);
+        if (expiryDay == NO_EXPIRY_DAY) {
+            noExpiry.remove(id);
+        } else {
+            RoaringBitmap day = byExpiryDay.get(expiryDay);
+            day.remove(id);
+            if (day.isEmpty()) byExpiryDay.remove(expiryDay);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= packedFacets.length) return;
+        int newCapacity = Math.max(capacity, packedFacets.length * 2);
+        packedFacets = Arrays.copyOf(packedFacets, newCapacity);
+        stockOf = Arrays.copyOf(stockOf, newCapacity);
+    }
+
+    private int priceBand(BigDecimal price) {
+        if (price == null) return NONE;
+        int band = 0;
+        while (band < priceBandBounds.length && price.compareTo(priceBandBounds[band]) >= 0) band++;
+        return band;
+    }
+
+    private StockStatus stockStatus(int stock) {
+        if (stock <= 0) return StockStatus.OUT_OF_STOCK;
+        return stock <= lowStockThreshold ? StockStatus.LOW_STOCK : StockStatus.IN_STOCK;
+    }
+
+    private static ExpiryWindow expiryWindow(int day, int today) {
+        if (day == NO_EXPIRY_DAY) return ExpiryWindow.NO_EXPIRY;
+        if (day < today) return ExpiryWindow.EXPIRED;
+        if (day < today + 7) return ExpiryWindow.WITHIN_WEEK;
+        if (day < today + 30) return ExpiryWindow.WITHIN_MONTH;
+        return ExpiryWindow.LATER;
+    }
+}
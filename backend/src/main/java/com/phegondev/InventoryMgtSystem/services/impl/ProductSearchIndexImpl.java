@@ -0,0 +1,483 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.services.ProductSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// In-memory search index over product name, sku and the beginning of the description.
+// Every distinct word is a term with a posting list of document ids (int arrays in ascending order). Terms are
+// themselves indexed by trigram, padded as "^^word$", so a misspelled word is resolved to the terms within one or
+// two edits without scanning the vocabulary. A changed product is indexed again under a new document id and its
+// old document is tombstoned; compaction renumbers the live documents, so memory follows the number of products
+// rather than the number of updates.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchIndexImpl implements ProductSearchIndex {
+
+    private static final int DESCRIPTION_INDEX_LENGTH = 256;
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+    private static final int MIN_TOMBSTONES_BEFORE_COMPACTION = 1_000;
+    // how many completions of the last word are looked at, and how many of the most frequent are kept
+    private static final int MAX_PREFIX_SCAN = 512;
+    private static final int MAX_COMPLETIONS = 16;
+    private static final int MAX_FUZZY_TERMS = 16;
+    // matches gathered before ranking, per requested result
+    private static final int CANDIDATES_PER_RESULT = 4;
+
+    private static final double EXACT_WEIGHT = 1.0;
+    private static final double PREFIX_WEIGHT = 0.8;
+    private static final double FUZZY_WEIGHT = 0.6;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Integer> vocabulary = new TreeMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<Postings> termDocs = new ArrayList<>();
+    private final Map<Long, Postings> termsByGram = new HashMap<>();
+
+    private final Map<Long, Integer> docByProductId = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private long[] productIds = new long[1024];
+    private String[] names = new String[1024];
+    private String[] skus = new String[1024];
+    private String[] normalizedNames = new String[1024];
+    private String[] normalizedSkus = new String[1024];
+    private int docCount;
+    private int deletedCount;
+    // products removed while the rebuild runs, so a batch read before the removal does not bring them back
+    private Set<Long> removedDuringRebuild = new HashSet<>();
+    private volatile boolean ready;
+
+    // built off the startup thread; searches fall back to the database until it is ready
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRebuild() {
+        Thread.ofVirtual().name("product-search-index").start(this::rebuild);
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        long lastId = 0;
+        List<ProductRepository.SearchFields> batch;
+        do {
+            batch = productRepository.findSearchFieldsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (ProductRepository.SearchFields fields : batch) {
+                    if (!docByProductId.containsKey(fields.getId()) && !removedDuringRebuild.contains(fields.getId())) {
+                        add(fields.getId(), fields.getName(), fields.getSku(), fields.getDescription());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) lastId = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            removedDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed products for search up to id {} in {} ms", lastId, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            delete(product.getId());
+            if (removedDuringRebuild != null) removedDuringRebuild.remove(product.getId());
+            add(product.getId(), product.getName(), product.getSku(), product.getDescription());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            delete(productId);
+            if (removedDuringRebuild != null) removedDuringRebuild.add(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return topMatches(query, limit).stream().map(doc -> productIds[doc]).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ProductDTO> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            List<ProductDTO> suggestions = new ArrayList<>();
+            for (int doc : topMatches(prefix, limit)) {
+                ProductDTO productDTO = new ProductDTO();
+                productDTO.setId(productIds[doc]);
+                productDTO.setName(names[doc]);
+                productDTO.setSku(skus[doc]);
+                suggestions.add(productDTO);
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every query word must match: exactly, as a completion (last word only) or within a few edits.
+    // Documents are read from the word with the fewest postings, best matching terms first and newest documents
+    // first, and the other words are checked by binary search; reading stops once enough matches are gathered.
+    private List<Integer> topMatches(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty() || limit < 1) return List.of();
+
+        List<List<TermMatch>> expansions = new ArrayList<>();
+        int driver = 0;
+        long fewestPostings = Long.MAX_VALUE;
+        for (int i = 0; i < words.size(); i++) {
+            List<TermMatch> matches = expand(words.get(i), i == words.size() - 1);
+            if (matches.isEmpty()) return List.of();
+            expansions.add(matches);
+
+            long postings = matches.stream().mapToLong(match -> termDocs.get(match.term()).size).sum();
+            if (postings < fewestPostings) {
+                fewestPostings = postings;
+                driver = i;
+            }
+        }
+
+        String normalizedQuery = String.join(" ", words);
+        int wanted = limit * CANDIDATES_PER_RESULT;
+        List<ScoredDoc> matched = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+
+        read:
+        for (TermMatch driverMatch : expansions.get(driver)) {
+            Postings docs = termDocs.get(driverMatch.term());
+            for (int k = docs.size - 1; k >= 0; k--) {
+                int doc = docs.docs[k];
+                if (deleted.get(doc) || !seen.add(doc)) continue;
+
+                double score = driverMatch.weight();
+                for (int i = 0; i < expansions.size() && score > 0; i++) {
+                    if (i != driver) {
+                        double weight = bestWeight(expansions.get(i), doc);
+                        score = weight == 0 ? 0 : score + weight;
+                    }
+                }
+                if (score == 0) continue;
+
+                matched.add(new ScoredDoc(doc, score + boost(doc, normalizedQuery)));
+                if (matched.size() >= wanted) break read;
+            }
+        }
+
+        matched.sort(Comparator.comparingDouble(ScoredDoc::score).reversed()
+                .thenComparingInt(scored -> names[scored.doc()].length())
+                .thenComparing(ScoredDoc::doc, Comparator.reverseOrder()));
+        return matched.stream().limit(limit).map(ScoredDoc::doc).toList();
+    }
+
+    // the terms a query word stands for, best first
+    private List<TermMatch> expand(String word, boolean last) {
+        List<TermMatch> matches = new ArrayList<>();
+        Integer exact = vocabulary.get(word);
+        if (exact != null && termDocs.get(exact).size > 0) {
+            matches.add(new TermMatch(exact, EXACT_WEIGHT));
+        }
+
+        if (last) {
+            // the word may still be typed: its most frequent completions
+            List<Integer> completions = new ArrayList<>();
+            for (int term : vocabulary.subMap(word, false, word + Character.MAX_VALUE, false).values()) {
+                if (termDocs.get(term).size > 0) completions.add(term);
+                if (completions.size() == MAX_PREFIX_SCAN) break;
+            }
+            completions.sort(Comparator.comparingInt((Integer term) -> termDocs.get(term).size).reversed());
+            for (int term : completions.subList(0, Math.min(MAX_COMPLETIONS, completions.size()))) {
+                matches.add(new TermMatch(term, PREFIX_WEIGHT));
+            }
+        }
+
+        if (matches.isEmpty()) {
+            matches.addAll(fuzzy(word));
+        }
+        return matches;
+    }
+
+    // Terms within one edit (two for long words). An edit changes at most four trigrams (a swap of neighbours), so a
+    // close term shares at least q - 4 * edits of the word's q trigrams and must appear in one of the 4 * edits + 1
+    // shortest lists.
+    private List<TermMatch> fuzzy(String word) {
+        int maxEdits = word.length() < 4 ? 0 : word.length() < 8 ? 1 : 2;
+        if (maxEdits == 0) return List.of();
+
+        Set<Long> grams = grams(word);
+        Postings[] lists = grams.stream().map(gram -> termsByGram.getOrDefault(gram, Postings.EMPTY))
+                .sorted(Comparator.comparingInt(list -> list.size)).toArray(Postings[]::new);
+        int required = Math.max(1, lists.length - 4 * maxEdits);
+        int shortLists = lists.length - required + 1;
+
+        int candidateCount = 0;
+        for (int l = 0; l < shortLists; l++) candidateCount += lists[l].size;
+        int[] candidates = new int[candidateCount];
+        int c = 0;
+        for (int l = 0; l < shortLists; l++) {
+            System.arraycopy(lists[l].docs, 0, candidates, c, lists[l].size);
+            c += lists[l].size;
+        }
+        Arrays.sort(candidates);
+
+        int[][] distances = new int[word.length() + 1][word.length() + maxEdits + 1];
+        List<TermMatch> matches = new ArrayList<>();
+        for (int start = 0, end; start < candidates.length; start = end) {
+            int term = candidates[start];
+            end = start;
+            while (end < candidates.length && candidates[end] == term) end++;
+
+            String candidate = terms.get(term);
+            if (Math.abs(candidate.length() - word.length()) > maxEdits || termDocs.get(term).size == 0) continue;
+
+            // trigrams shared with the word: repeats among the short lists plus hits in the long ones
+            int shared = end - start;
+            for (int l = shortLists; l < lists.length && shared < required; l++) {
+                if (lists[l].contains(term)) shared++;
+            }
+            if (shared < required) continue;
+
+            int distance = editDistance(word, candidate, maxEdits, distances);
+            if (distance <= maxEdits) matches.add(new TermMatch(term, FUZZY_WEIGHT - 0.1 * (distance - 1)));
+        }
+        matches.sort(Comparator.comparingDouble(TermMatch::weight).reversed()
+                .thenComparing(match -> termDocs.get(match.term()).size, Comparator.reverseOrder()));
+        return matches.subList(0, Math.min(MAX_FUZZY_TERMS, matches.size()));
+    }
+
+    private double bestWeight(List<TermMatch> matches, int doc) {
+        for (TermMatch match : matches) {
+            // matches are ordered by weight, the first hit is the best
+            if (termDocs.get(match.term()).contains(doc)) return match.weight();
+        }
+        return 0;
+    }
+
+    private double boost(int doc, String normalizedQuery) {
+        if (normalizedSkus[doc].equals(normalizedQuery)) return 2.0;
+        if (normalizedNames[doc].startsWith(normalizedQuery)) return 1.0;
+        if (normalizedSkus[doc].startsWith(normalizedQuery)) return 0.75;
+        return 0.0;
+    }
+
+    private void add(Long productId, String name, String sku, String description) {
+        int doc = docCount++;
+        ensureCapacity(docCount);
+        productIds[doc] = productId;
+        names[doc] = name == null ? "" : name;
+        skus[doc] = sku;
+        normalizedNames[doc] = String.join(" ", words(name));
+        normalizedSkus[doc] = String.join(" ", words(sku));
+        docByProductId.put(productId, doc);
+
+        Set<String> docWords = new LinkedHashSet<>(words(name));
+        docWords.addAll(words(sku));
+        docWords.addAll(words(description == null || description.length() <= DESCRIPTION_INDEX_LENGTH
+                ? description : description.substring(0, DESCRIPTION_INDEX_LENGTH)));
+        for (String word : docWords) {
+            Integer term = vocabulary.get(word);
+            if (term == null) term = newTerm(word);
+            termDocs.get(term).add(doc);
+        }
+    }
+
+    private int newTerm(String word) {
+        int term = terms.size();
+        terms.add(word);
+        termDocs.add(new Postings());
+        vocabulary.put(word, term);
+        for (long gram : grams(word)) {
+            termsByGram.computeIfAbsent(gram, key -> new Postings()).add(term);
+        }
+        return term;
+    }
+
+    private void delete(Long productId) {
+        Integer doc = docByProductId.remove(productId);
+        if (doc == null) return;
+        deleted.set(doc);
+        // a tombstone is never read again, only its postings entries wait for the compaction
+        names[doc] = null;
+        skus[doc] = null;
+        normalizedNames[doc] = null;
+        normalizedSkus[doc] = null;
+        if (++deletedCount >= MIN_TOMBSTONES_BEFORE_COMPACTION && deletedCount > docByProductId.size() / 4) {
+            compact();
+        }
+    }
+
+    // Renumbers the live documents 0..n-1 in their current order, so postings stay sorted, and drops the tombstones
+    // from the postings and the document arrays.
+    private void compact() {
+        int[] renumbered = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                renumbered[doc] = -1;
+                continue;
+            }
+            renumbered[doc] = live;
+            productIds[live] = productIds[doc];
+            names[live] = names[doc];
+            skus[live] = skus[doc];
+            normalizedNames[live] = normalizedNames[doc];
+            normalizedSkus[live] = normalizedSkus[doc];
+            live++;
+        }
+
+        for (Postings docs : termDocs) {
+            int kept = 0;
+            for (int i = 0; i < docs.size; i++) {
+                int doc = renumbered[docs.docs[i]];
+                if (doc >= 0) docs.docs[kept++] = doc;
+            }
+            docs.size = kept;
+            if (docs.docs.length > 2 * Math.max(kept, 2)) docs.docs = Arrays.copyOf(docs.docs, Math.max(kept, 2));
+        }
+        docByProductId.replaceAll((productId, doc) -> renumbered[doc]);
+
+        int capacity = Math.max(1024, live + live / 2);
+        if (productIds.length > 2 * capacity) {
+            productIds = Arrays.copyOf(productIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            skus = Arrays.copyOf(skus, capacity);
+            normalizedNames = Arrays.copyOf(normalizedNames, capacity);
+            normalizedSkus = Arrays.copyOf(normalizedSkus, capacity);
+        }
+        Arrays.fill(names, live, Math.min(docCount, names.length), null);
+        Arrays.fill(skus, live, Math.min(docCount, skus.length), null);
+        Arrays.fill(normalizedNames, live, Math.min(docCount, normalizedNames.length), null);
+        Arrays.fill(normalizedSkus, live, Math.min(docCount, normalizedSkus.length), null);
+
+        docCount = live;
+        deleted.clear();
+        deletedCount = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= productIds.length) return;
+        int newCapacity = Math.max(capacity, productIds.length * 2);
+        productIds = Arrays.copyOf(productIds, newCapacity);
+        names = Arrays.copyOf(names, newCapacity);
+        skus = Arrays.copyOf(skus, newCapacity);
+        normalizedNames = Arrays.copyOf(normalizedNames, newCapacity);
+        normalizedSkus = Arrays.copyOf(normalizedSkus, newCapacity);
+    }
+
+    // three characters packed 21 bits apart, which keeps the Long hash codes of ascii trigrams distinct
+    private static Set<Long> grams(String word) {
+        String padded = "^^" + word + "$";
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(((long) padded.charAt(i) << 42) | ((long) padded.charAt(i + 1) << 21) | padded.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    // optimal string alignment distance (a swap of two neighbours is one edit), maxEdits + 1 once it is exceeded
+    private static int editDistance(String a, String b, int maxEdits, int[][] d) {
+        for (int i = 0; i <= a.length(); i++) d[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) d[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            int rowMin = Integer.MAX_VALUE;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, d[i][j]);
+            }
+            if (rowMin > maxEdits) return maxEdits + 1;
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static List<String> words(String text) {
+        String normalized = normalize(text);
+        if (normalized.isBlank()) return List.of();
+        return Arrays.stream(NON_WORD.split(normalized)).filter(word -> !word.isEmpty()).toList();
+    }
+
+    // lower case without accents, so "Crème" and "creme" index the same
+    private static String normalize(String text) {
+        if (text == null) return "";
+        return COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private record TermMatch(int term, double weight) {
+    }
+
+    private record ScoredDoc(int doc, double score) {
+    }
+
+    private static final class Postings {
+
+        private static final Postings EMPTY = new Postings();
+
+        private int[] docs = new int[2];
+        private int size;
+
+        private void add(int doc) {
+            if (size == docs.length) docs = Arrays.copyOf(docs, size * 2);
+            docs[size++] = doc;
+        }
+
+        private boolean contains(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+        }
+    }
+}
@@ -1,29 +1,48 @@
 package com.phegondev.InventoryMgtSystem.services.impl;
 
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.phegondev.InventoryMgtSystem.dtos.ProductCatalogQuery;
+import com.phegondev.InventoryMgtSystem.dtos.ProductFacetQuery;
 import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.enums.ImageStatus;
+import com.phegondev.InventoryMgtSystem.enums.InventoryCounterName;
+import com.phegondev.InventoryMgtSystem.exceptions.InsufficientStockException;
+import com.phegondev.InventoryMgtSystem.exceptions.NameValueRequiredException;
 import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.mappers.ProductMapper;
 import com.phegondev.InventoryMgtSystem.models.Category;
 import com.phegondev.InventoryMgtSystem.models.Product;
 import com.phegondev.InventoryMgtSystem.repositories.CategoryRepository;
 import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.services.ImageUploadService;
+import com.phegondev.InventoryMgtSystem.services.ImageUploadService.StagedImage;
+import com.phegondev.InventoryMgtSystem.services.InventoryCounterService;
+import com.phegondev.InventoryMgtSystem.services.ProductFacetIndex;
+import com.phegondev.InventoryMgtSystem.services.ProductSearchIndex;
 import com.phegondev.InventoryMgtSystem.services.ProductService;
+import com.phegondev.InventoryMgtSystem.specification.KeysetCursor;
+import com.phegondev.InventoryMgtSystem.specification.ProductFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -31,20 +50,31 @@ import java.util.Map;
 @Slf4j
 public class ProductServiceImpl implements ProductService {
 
+    private static final int MAX_CATALOG_PAGE_SIZE = 200;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_CATALOG_SEARCH_MATCHES = 1000;
+    private static final Set<String> CATALOG_SORT_FIELDS = Set.of("id", "name", "price", "stockQuantity", "createdAt");
+
     private final ProductRepository productRepository;
-    private final ModelMapper modelMapper;
+    private final ProductMapper productMapper;
     private final CategoryRepository categoryRepository;
+    private final InventoryCounterService inventoryCounterService;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final ImageUploadService imageUploadService;
 
-    @Autowired
-    private Cloudinary cloudinary;
+    @Value("${products.low-stock-threshold:5}")
+    private int lowStockThreshold;
 
     
     @Override
     public long countProducts() {
-        return productRepository.count();
+        return inventoryCounterService.getCount(InventoryCounterName.PRODUCTS);
     }
 
     @Override
+    @Transactional
     public Response saveProduct(ProductDTO productDTO, MultipartFile imageFile) {
 
         Category category = categoryRepository.findById(productDTO.getCategoryId())
@@ -57,18 +87,30 @@ public class ProductServiceImpl implements ProductService {
                 .price(productDTO.getPrice())
                 .stockQuantity(productDTO.getStockQuantity())
                 .description(productDTO.getDescription())
+                .escrowEnabled(Boolean.TRUE.equals(productDTO.getEscrowEnabled()))
                 .category(category)
                 .build();
 
+        //the image is uploaded by the pipeline once the product is committed
+        StagedImage stagedImage = null;
         if (imageFile != null && !imageFile.isEmpty()) {
-            log.info("Image file exist");
-            String imageUrl = uploadImageToCloudinary(imageFile);
-            System.out.println("IMAGE URL IS: " + imageUrl);
-            productToSave.setImageUrl(imageUrl);
+            stagedImage = imageUploadService.stage(imageFile);
+            productToSave.setImageStatus(ImageStatus.PENDING);
         }
 
         //save the product entity
-        productRepository.save(productToSave);
+        try {
+            productRepository.save(productToSave);
+        } catch (RuntimeException e) {
+            if (stagedImage != null) imageUploadService.discard(stagedImage);
+            throw e;
+        }
+        if (stagedImage != null) imageUploadService.uploadOnCommit(productToSave.getId(), stagedImage);
+        inventoryCounterService.add(InventoryCounterName.PRODUCTS, 1);
+        afterCommit(() -> {
+            productSearchIndex.index(productToSave);
+            productFacetIndex.refresh(productToSave.getId());
+        });
 
         return Response.builder()
                 .status(200)
@@ -77,17 +119,49 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional
     public Response updateProduct(ProductDTO productDTO, MultipartFile imageFile) {
 
+        //staged once, the current image stays in place until the new one is uploaded
+        StagedImage stagedImage = imageFile != null && !imageFile.isEmpty() ? imageUploadService.stage(imageFile) : null;
+
+        try {
+            saveUpdate(productDTO, stagedImage != null);
+        } catch (RuntimeException e) {
+            if (stagedImage != null) imageUploadService.discard(stagedImage);
+            throw e;
+        }
+        // discarded instead if the transaction rolls back
+        if (stagedImage != null) imageUploadService.uploadOnCommit(productDTO.getProductId(), stagedImage);
+
+        //Build our response
+        return Response.builder()
+                .status(200)
+                .message("Product Updated successfully")
+                .build();
+
+
+    }
+
+    private void saveUpdate(ProductDTO productDTO, boolean imagePending) {
+
+        // the edit form sends the version it was loaded at; a product edited since then is a 409, not overwritten
+        if (productDTO.getVersion() == null)
+            throw new NameValueRequiredException("Version of the edited product is required");
+        // stock moves with every sale, so it is changed relative to its current value rather than set
+        if (productDTO.getStockQuantity() != null)
+            throw new NameValueRequiredException("Stock is changed with stockAdjustment, not stockQuantity");
+
         //check if product exisit
         Product existingProduct = productRepository.findById(productDTO.getProductId())
                 .orElseThrow(() -> new NotFoundException("Product Not Found"));
 
-        //check if image is associated with the product to update and upload
-        if (imageFile != null && !imageFile.isEmpty()) {
-            String imageUrl = uploadImageToCloudinary(imageFile);
-            System.out.println("IMAGE URL IS: " + imageUrl);
-            existingProduct.setImageUrl(imageUrl);
+        if (!productDTO.getVersion().equals(existingProduct.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Product.class, existingProduct.getId());
+        }
+
+        if (imagePending) {
+            existingProduct.setImageStatus(ImageStatus.PENDING);
         }
 
         //check if category is to be chanegd for the products
@@ -114,19 +188,28 @@ public class ProductServiceImpl implements ProductService {
             existingProduct.setPrice(productDTO.getPrice());
         }
 
-        if (productDTO.getStockQuantity() != null && productDTO.getStockQuantity() >= 0) {
-            existingProduct.setStockQuantity(productDTO.getStockQuantity());
+        if (productDTO.getEscrowEnabled() != null) {
+            existingProduct.setEscrowEnabled(productDTO.getEscrowEnabled());
         }
-        //update the product
-        productRepository.save(existingProduct);
-
-        //Build our response
-        return Response.builder()
-                .status(200)
-                .message("Product Updated successfully")
-                .build();
 
+        //update the product, flushed here so a concurrent edit fails before the stock moves
+        productRepository.saveAndFlush(existingProduct);
+
+        // the same guarded updates as sales and purchases, a decrease never reaches units held in escrow
+        int stockAdjustment = productDTO.getStockAdjustment() == null ? 0 : productDTO.getStockAdjustment();
+        if (stockAdjustment > 0) {
+            productRepository.increaseStock(existingProduct.getId(), stockAdjustment);
+        } else if (stockAdjustment < 0
+                && productRepository.decreaseStockIfAvailable(existingProduct.getId(), -stockAdjustment) == 0) {
+            throw new InsufficientStockException("Stock of " + existingProduct.getName()
+                    + " cannot be lowered by " + -stockAdjustment + ", it would drop below the units already sold or reserved");
+        }
 
+        afterCommit(() -> {
+            productSearchIndex.index(existingProduct);
+            // re-read, the row holds sales committed since the entity was loaded
+            productFacetIndex.refresh(existingProduct.getId());
+        });
     }
 
     @Override
@@ -134,8 +217,7 @@ public class ProductServiceImpl implements ProductService {
 
         List<Product> productList = productRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
 
-        List<ProductDTO> productDTOList = modelMapper.map(productList, new TypeToken<List<ProductDTO>>() {
-        }.getType());
+        List<ProductDTO> productDTOList = productMapper.toDTOs(productList);
 
         return Response.builder()
                 .status(200)
@@ -144,6 +226,79 @@ public class ProductServiceImpl implements ProductService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Response getProductCatalog(ProductCatalogQuery catalogQuery) {
+
+        int size = catalogQuery.getSize() == null ? 20 : catalogQuery.getSize();
+        if (size < 1 || size > MAX_CATALOG_PAGE_SIZE)
+            throw new NameValueRequiredException("Page size must be between 1 and " + MAX_CATALOG_PAGE_SIZE);
+
+        String sortBy = catalogQuery.getSortBy() == null ? "id" : catalogQuery.getSortBy();
+        if (!CATALOG_SORT_FIELDS.contains(sortBy))
+            throw new NameValueRequiredException("Products can only be sorted by " + CATALOG_SORT_FIELDS);
+        Sort.Direction direction = Sort.Direction.fromOptionalString(catalogQuery.getDirection())
+                .orElse(Sort.Direction.DESC);
+        // id breaks ties so pages stay stable when the sort column has duplicates
+        Sort sort = Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+
+        Specification<Product> spec = ProductFilter.fetchCategory()
+                .and(ProductFilter.byCategory(catalogQuery.getCategoryId()))
+                .and(ProductFilter.priceBetween(catalogQuery.getMinPrice(), catalogQuery.getMaxPrice()))
+                .and(ProductFilter.stockBetween(catalogQuery.getMinStock(), catalogQuery.getMaxStock()))
+                .and(searchFilter(catalogQuery.getSearch()));
+        if (Boolean.TRUE.equals(catalogQuery.getLowStock()))
+            spec = spec.and(ProductFilter.stockBetween(1, lowStockThreshold));
+
+        Long lastSeenId = KeysetCursor.decode(catalogQuery.getCursor());
+        if (lastSeenId != null) {
+            if (!"id".equals(sortBy))
+                throw new NameValueRequiredException("Cursor pagination is only available when sorting by id");
+
+            // seek past the previous page, fetching one extra row to know whether there is a next one
+            spec = spec.and(direction.isDescending() ? ProductFilter.idBefore(lastSeenId) : ProductFilter.idAfter(lastSeenId));
+            List<Product> products = productRepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+
+            String nextCursor = null;
+            if (products.size() > size) {
+                products = products.subList(0, size);
+                nextCursor = KeysetCursor.encode(products.get(size - 1).getId());
+            }
+
+            return Response.builder()
+                    .status(200)
+                    .message("success")
+                    .products(productMapper.toDTOs(products))
+                    .nextCursor(nextCursor)
+                    .build();
+        }
+
+        int page = catalogQuery.getPage() == null ? 0 : Math.max(catalogQuery.getPage(), 0);
+        Page<Product> productPage = productRepository.findAll(spec, PageRequest.of(page, size, sort));
+
+        String nextCursor = "id".equals(sortBy) && productPage.hasNext()
+                ? KeysetCursor.encode(productPage.getContent().get(productPage.getNumberOfElements() - 1).getId())
+                : null;
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .products(productMapper.toDTOs(productPage.getContent()))
+                .totalPages(productPage.getTotalPages())
+                .totalElements(productPage.getTotalElements())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public Response getProductFacets(ProductFacetQuery facetQuery) {
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .facets(productFacetIndex.facets(facetQuery))
+                .build();
+    }
+
     @Override
     public Response getProductById(Long id) {
 
@@ -153,17 +308,23 @@ public class ProductServiceImpl implements ProductService {
         return Response.builder()
                 .status(200)
                 .message("success")
-                .product(modelMapper.map(product, ProductDTO.class))
+                .product(productMapper.toDTO(product))
                 .build();
     }
 
     @Override
+    @Transactional
     public Response deleteProduct(Long id) {
 
         productRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Product Not Found"));
 
         productRepository.deleteById(id);
+        inventoryCounterService.add(InventoryCounterName.PRODUCTS, -1);
+        afterCommit(() -> {
+            productSearchIndex.remove(id);
+            productFacetIndex.remove(id);
+        });
 
         return Response.builder()
                 .status(200)
@@ -174,14 +335,22 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public Response searchProduct(String input) {
 
-        List<Product> products = productRepository.findByNameContainingOrDescriptionContaining(input, input);
+        List<Product> products;
+        if (productSearchIndex.isReady()) {
+            // ranked by the index, loaded by primary key in that order
+            List<Long> ids = productSearchIndex.search(input, MAX_SEARCH_RESULTS);
+            Map<Long, Product> byId = productRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            products = ids.stream().map(byId::get).filter(product -> product != null).toList();
+        } else {
+            products = productRepository.findByNameContainingOrDescriptionContaining(input, input);
+        }
 
         if (products.isEmpty()) {
             throw new NotFoundException("Product Not Found");
         }
 
-        List<ProductDTO> productDTOList = modelMapper.map(products, new TypeToken<List<ProductDTO>>() {
-        }.getType());
+        List<ProductDTO> productDTOList = productMapper.toDTOs(products);
 
         return Response.builder()
                 .status(200)
@@ -190,18 +359,49 @@ public class ProductServiceImpl implements ProductService {
                 .build();
     }
 
-    // Ajoute cette méthode pour l'upload Cloudinary
-    @SuppressWarnings({ "null", "rawtypes" })
-    private String uploadImageToCloudinary(MultipartFile imageFile) {
-        if (!imageFile.getContentType().startsWith("image/") || imageFile.getSize() > 1024 * 1024 * 1024) {
-            throw new IllegalArgumentException("Only image files under 1GIG is allowed");
+    @Override
+    public Response suggestProducts(String prefix, int limit) {
+
+        if (prefix == null || prefix.isBlank()) throw new NameValueRequiredException("Prefix is required");
+        if (limit < 1 || limit > MAX_SUGGESTIONS)
+            throw new NameValueRequiredException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+
+        List<ProductDTO> suggestions;
+        if (productSearchIndex.isReady()) {
+            suggestions = productSearchIndex.suggest(prefix, limit);
+        } else {
+            Specification<Product> spec = ProductFilter.bySearch(prefix);
+            suggestions = productRepository.findBy(spec, query -> query.sortBy(Sort.by("name")).limit(limit).all())
+                    .stream().map(productMapper::toDTO).toList();
         }
-        try {
-            Map uploadResult = cloudinary.uploader().upload(imageFile.getBytes(), ObjectUtils.emptyMap());
-            return uploadResult.get("secure_url").toString();
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Erreur upload Cloudinary: " + e.getMessage());
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .products(suggestions)
+                .build();
+    }
+
+    // catalog search goes through the index once it is built, the LIKE filter covers the start-up window
+    private Specification<Product> searchFilter(String search) {
+        if (search == null || search.isBlank() || !productSearchIndex.isReady()) {
+            return ProductFilter.bySearch(search);
+        }
+        return ProductFilter.idIn(productSearchIndex.search(search, MAX_CATALOG_SEARCH_MATCHES));
+    }
+
+    // keeps the search index in line with what was actually committed
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     // Tu peux supprimer ou commenter saveImage et saveImage2 si tu n'en as plus besoin.
@@ -0,0 +1,199 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.dtos.SaleTicketDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionRequest;
+import com.phegondev.InventoryMgtSystem.enums.SaleTicketStatus;
+import com.phegondev.InventoryMgtSystem.exceptions.IngestionQueueFullException;
+import com.phegondev.InventoryMgtSystem.exceptions.NameValueRequiredException;
+import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.models.ProductQuantity;
+import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.services.SaleIngestionService;
+import com.phegondev.InventoryMgtSystem.services.TransactionService;
+import com.phegondev.InventoryMgtSystem.services.UserService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Accepts sales into a bounded in-memory queue and commits them from a single writer thread,
+// grouping up to batchSize sales into one database transaction.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SaleIngestionServiceImpl implements SaleIngestionService {
+
+    private final TransactionService transactionService;
+    private final UserService userService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${sales.ingestion.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${sales.ingestion.batch-size:200}")
+    private int batchSize;
+
+    @Value("${sales.ingestion.ticket-retention-minutes:15}")
+    private long ticketRetentionMinutes;
+
+    // tickets are never mutated once in the map, the writer replaces them, so request threads read complete snapshots
+    private final Map<String, SaleTicketDTO> tickets = new ConcurrentHashMap<>();
+    // ids of finished tickets, oldest first; only the writer thread finishes tickets, so only it touches this
+    private final Deque<String> finishedTickets = new ArrayDeque<>();
+    private BlockingQueue<PendingSale> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread writer;
+    private volatile boolean running;
+
+    private record PendingSale(String ticketId, TransactionRequest transactionRequest, User user) {
+    }
+
+    @PostConstruct
+    private void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        writer = new Thread(this::drainQueue, "sale-ingestion-writer");
+        writer.start();
+    }
+
+    @PreDestroy
+    private void stop() throws InterruptedException {
+        //let the writer flush what is already queued before the datasource goes away
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    @Override
+    public Response submitSale(TransactionRequest transactionRequest) {
+
+        //refused here, as the synchronous sell does, instead of surfacing later as a failed ticket
+        List<ProductQuantity> products = transactionRequest.getProducts();
+        if (products == null || products.isEmpty())
+            throw new NameValueRequiredException("Product Ids are Required");
+        for (ProductQuantity productQuantity : products) {
+            Integer quantity = productQuantity.getQuantity() != null
+                    ? productQuantity.getQuantity()
+                    : transactionRequest.getQuantity();
+            if (productQuantity.getProductId() == null || quantity == null || quantity <= 0)
+                throw new NameValueRequiredException("Product Id and a positive quantity are Required");
+        }
+
+        //the writer thread has no security context, so resolve the seller now
+        User user = userService.getCurrentLoggedInUser();
+
+        SaleTicketDTO ticket = new SaleTicketDTO(UUID.randomUUID().toString(), SaleTicketStatus.QUEUED,
+                null, LocalDateTime.now(), null);
+        tickets.put(ticket.getTicketId(), ticket);
+
+        if (!queue.offer(new PendingSale(ticket.getTicketId(), transactionRequest, user))) {
+            tickets.remove(ticket.getTicketId());
+            throw new IngestionQueueFullException("Sale ingestion queue is full, retry later");
+        }
+
+        return Response.builder()
+                .status(202)
+                .message("Sale queued")
+                .ticket(ticket)
+                .build();
+    }
+
+    @Override
+    public Response getSaleTicket(String ticketId) {
+
+        SaleTicketDTO ticket = tickets.get(ticketId);
+        if (ticket == null)
+            throw new NotFoundException("Ticket Not Found");
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .ticket(ticket)
+                .build();
+    }
+
+    private void drainQueue() {
+        List<PendingSale> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingSale first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    commit(batch);
+                    batch.clear();
+                }
+                evictExpiredTickets();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Sale ingestion writer failed: " + e.getMessage());
+                batch.forEach(sale -> finish(sale, SaleTicketStatus.FAILED, e.getMessage()));
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingSale> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(this::sell));
+            batch.forEach(sale -> finish(sale, SaleTicketStatus.COMPLETED, "Product Sale successfully made"));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                finish(batch.get(0), SaleTicketStatus.FAILED, e.getMessage());
+                return;
+            }
+            //one bad sale rolls back the whole group, so replay each sale in its own transaction
+            log.warn("Group commit of {} sales failed ({}), committing them one by one", batch.size(), e.getMessage());
+            for (PendingSale sale : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> sell(sale));
+                    finish(sale, SaleTicketStatus.COMPLETED, "Product Sale successfully made");
+                } catch (RuntimeException ex) {
+                    finish(sale, SaleTicketStatus.FAILED, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private void sell(PendingSale sale) {
+        transactionService.sell(sale.transactionRequest(), sale.user());
+    }
+
+    private void finish(PendingSale sale, SaleTicketStatus status, String message) {
+        tickets.computeIfPresent(sale.ticketId(), (id, ticket) ->
+                new SaleTicketDTO(id, status, message, ticket.getCreatedAt(), LocalDateTime.now()));
+        finishedTickets.addLast(sale.ticketId());
+    }
+
+    // tickets finish in order, so the expired ones are at the head and the scan stops at the first one to keep
+    private void evictExpiredTickets() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(ticketRetentionMinutes);
+        while (!finishedTickets.isEmpty()) {
+            SaleTicketDTO ticket = tickets.get(finishedTickets.peekFirst());
+            if (ticket != null && ticket.getCompletedAt().isAfter(cutoff)) {
+                return;
+            }
+            tickets.remove(finishedTickets.removeFirst());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.models.EscrowReservation;
+import com.phegondev.InventoryMgtSystem.repositories.EscrowReservationRepository;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.services.ProductFacetIndex;
+import com.phegondev.InventoryMgtSystem.services.StockEscrowService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Escrow for hot SKUs: this node reserves a block of stock on the product row (escrow_held), sells from it
+// in memory and periodically settles the units sold as one stock decrease, so the row is touched once per
+// block and once per flush instead of once per sale. Blocks are only ever reserved by the flush: the sale that
+// finds its block empty may already hold the product row lock (an earlier line of the same transaction, or another
+// sale of the group commit), so it falls back to the row and leaves the refill to the next flush. Unsold units are
+// given back once escrow is turned off for the product, and on shutdown. Each node also records its share of
+// escrow_held in escrow_reservations and renews it on a heartbeat, so the units of a node that dies without shutting
+// down are given back by the surviving (or restarted) nodes once its lease times out.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class StockEscrowServiceImpl implements StockEscrowService {
+
+    private final ProductRepository productRepository;
+    private final EscrowReservationRepository escrowReservationRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private final ProductFacetIndex productFacetIndex;
+
+    @Value("${inventory.escrow.block-size:100}")
+    private int blockSize;
+
+    // several heartbeats long, so a node is only given up on once it has missed a few
+    @Value("${inventory.escrow.lease-timeout-ms:300000}")
+    private long leaseTimeoutMs;
+
+    // a fresh id per start: the reservations of a previous run are reclaimed like those of any dead node
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<Long, EscrowBlock> blocks = new ConcurrentHashMap<>();
+    // product id -> smallest block that serves the sale which asked for it
+    private final Map<Long, Integer> refillRequests = new ConcurrentHashMap<>();
+    private TransactionTemplate independentTransaction;
+    private Counter hits;
+    private Counter misses;
+    private volatile long lastFlushMillis = System.currentTimeMillis();
+
+    private static final class EscrowBlock {
+        private final AtomicInteger available = new AtomicInteger();
+        // striped so concurrent sellers of the same SKU do not contend on a single counter
+        private final LongAdder sold = new LongAdder();
+    }
+
+    @PostConstruct
+    private void init() {
+        //reservations and settlements commit on their own, independently of the sale that triggered them
+        independentTransaction = new TransactionTemplate(transactionManager);
+        independentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        hits = Counter.builder("inventory.escrow.hits")
+                .description("Sales served from a local escrow block")
+                .register(meterRegistry);
+        misses = Counter.builder("inventory.escrow.misses")
+                .description("Sales of escrow products that fell back to the product row")
+                .register(meterRegistry);
+        Gauge.builder("inventory.escrow.flush.lag", () -> (System.currentTimeMillis() - lastFlushMillis) / 1000.0)
+                .description("Seconds since escrow sales were last settled on the product rows")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("inventory.escrow.pending", () -> blocks.values().stream().mapToLong(b -> b.sold.sum()).sum())
+                .description("Units sold from escrow that are not yet settled")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean tryConsume(Long productId, int quantity) {
+        EscrowBlock block = blocks.computeIfAbsent(productId, id -> new EscrowBlock());
+
+        if (!take(block, quantity)) {
+            refillRequests.merge(productId, quantity, Math::max);
+            misses.increment();
+            return false;
+        }
+
+        block.sold.add(quantity);
+        hits.increment();
+        //asked early so a hot SKU rarely runs dry between two flushes
+        if (block.available.get() < blockSize / 4) {
+            refillRequests.merge(productId, quantity, Math::max);
+        }
+
+        //put the units back if the surrounding sale rolls back
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        block.sold.add(-quantity);
+                        block.available.addAndGet(quantity);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.escrow.flush-interval-ms:1000}")
+    public void flush() {
+        blocks.forEach((productId, block) -> {
+            int sold = (int) block.sold.sumThenReset();
+            if (sold == 0) {
+                return;
+            }
+            try {
+                independentTransaction.executeWithoutResult(status -> {
+                    if (productRepository.settleEscrow(productId, sold) > 0) {
+                        escrowReservationRepository.addUnits(nodeId, productId, -sold, LocalDateTime.now());
+                    }
+                });
+                productFacetIndex.stockChanged(productId, -sold);
+            } catch (RuntimeException e) {
+                block.sold.add(sold);
+                log.error("Could not settle {} escrow sales of product {}: {}", sold, productId, e.getMessage());
+            }
+        });
+        releaseDisabledAndRefill();
+        lastFlushMillis = System.currentTimeMillis();
+    }
+
+    private void releaseDisabledAndRefill() {
+        Set<Long> ids = new HashSet<>(refillRequests.keySet());
+        blocks.forEach((productId, block) -> {
+            if (block.available.get() > 0) ids.add(productId);
+        });
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<Long> enabled;
+        try {
+            enabled = new HashSet<>(productRepository.findEscrowEnabledIds(ids));
+        } catch (RuntimeException e) {
+            log.error("Could not check which products still use escrow: {}", e.getMessage());
+            return;
+        }
+
+        for (Long productId : ids) {
+            Integer requested = refillRequests.remove(productId);
+            EscrowBlock block = blocks.get(productId);
+            if (!enabled.contains(productId)) {
+                //escrow was turned off (or the product deleted): the unsold units go back to the shared stock
+                if (block != null) release(productId, block);
+            } else if (requested != null && block != null) {
+                refill(productId, block, requested);
+            }
+        }
+    }
+
+    // renews this node's lease, then gives back the reservations of nodes that stopped renewing theirs
+    @Scheduled(initialDelayString = "${inventory.escrow.lease-heartbeat-ms:30000}",
+            fixedDelayString = "${inventory.escrow.lease-heartbeat-ms:30000}")
+    public void renewAndReclaim() {
+        try {
+            independentTransaction.executeWithoutResult(status -> {
+                escrowReservationRepository.heartbeat(nodeId, LocalDateTime.now());
+                escrowReservationRepository.deleteEmpty(nodeId);
+            });
+        } catch (RuntimeException e) {
+            log.error("Could not renew the escrow lease of this node: {}", e.getMessage());
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(leaseTimeoutMs * 1_000_000);
+        for (EscrowReservation expired : escrowReservationRepository.findExpired(cutoff)) {
+            try {
+                //a renewal in the meantime moves heartbeat_at past the cutoff and the delete finds nothing
+                Boolean reclaimed = independentTransaction.execute(status -> {
+                    if (escrowReservationRepository.deleteIfExpired(expired.getId(), cutoff) == 0) return false;
+                    if (expired.getUnits() > 0) productRepository.releaseEscrow(expired.getProductId(), expired.getUnits());
+                    return true;
+                });
+                if (Boolean.TRUE.equals(reclaimed)) {
+                    log.warn("Released {} escrow units of product {} left by node {}", expired.getUnits(),
+                            expired.getProductId(), expired.getNodeId());
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not release the escrow reservation {}: {}", expired.getId(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    private void releaseAll() {
+        flush();
+        blocks.forEach(this::release);
+    }
+
+    private void release(Long productId, EscrowBlock block) {
+        int unsold = block.available.getAndSet(0);
+        if (unsold == 0) {
+            return;
+        }
+        try {
+            independentTransaction.executeWithoutResult(status -> {
+                productRepository.releaseEscrow(productId, unsold);
+                escrowReservationRepository.addUnits(nodeId, productId, -unsold, LocalDateTime.now());
+            });
+        } catch (RuntimeException e) {
+            block.available.addAndGet(unsold);
+            log.error("Could not release {} escrow units of product {}: {}", unsold, productId, e.getMessage());
+        }
+    }
+
+    private boolean take(EscrowBlock block, int quantity) {
+        int current;
+        do {
+            current = block.available.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!block.available.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    // a failed or refused reservation only means the next sales keep going to the product row
+    private void refill(Long productId, EscrowBlock block, int quantity) {
+        int size = Math.max(blockSize, quantity);
+        try {
+            Integer reserved = independentTransaction.execute(status -> {
+                int rows = productRepository.reserveEscrow(productId, size);
+                if (rows > 0) escrowReservationRepository.addUnits(nodeId, productId, size, LocalDateTime.now());
+                return rows;
+            });
+            if (reserved != null && reserved > 0) {
+                block.available.addAndGet(size);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not reserve an escrow block of product {}: {}", productId, e.getMessage());
+        }
+    }
+}
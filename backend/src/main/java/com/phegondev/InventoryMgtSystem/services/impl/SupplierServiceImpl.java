@@ -3,16 +3,18 @@ package com.phegondev.InventoryMgtSystem.services.impl;
 
 import com.phegondev.InventoryMgtSystem.dtos.Response;
 import com.phegondev.InventoryMgtSystem.dtos.SupplierDTO;
+import com.phegondev.InventoryMgtSystem.enums.InventoryCounterName;
 import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.mappers.SupplierMapper;
 import com.phegondev.InventoryMgtSystem.models.Supplier;
 import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
+import com.phegondev.InventoryMgtSystem.services.InventoryCounterService;
 import com.phegondev.InventoryMgtSystem.services.SupplierService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -23,15 +25,18 @@ public class SupplierServiceImpl implements SupplierService {
 
 
     private final SupplierRepository supplierRepository;
-    private final ModelMapper modelMapper;
+    private final SupplierMapper supplierMapper;
+    private final InventoryCounterService inventoryCounterService;
 
 
     @Override
+    @Transactional
     public Response addSupplier(SupplierDTO supplierDTO) {
 
-        Supplier supplierToSave = modelMapper.map(supplierDTO, Supplier.class);
+        Supplier supplierToSave = supplierMapper.toEntity(supplierDTO);
 
         supplierRepository.save(supplierToSave);
+        inventoryCounterService.add(InventoryCounterName.SUPPLIERS, 1);
 
         return Response.builder()
                 .status(200)
@@ -62,8 +67,7 @@ public class SupplierServiceImpl implements SupplierService {
 
         List<Supplier> suppliers = supplierRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
 
-        List<SupplierDTO> supplierDTOList = modelMapper.map(suppliers, new TypeToken<List<SupplierDTO>>() {
-        }.getType());
+        List<SupplierDTO> supplierDTOList = supplierMapper.toDTOs(suppliers);
 
         return Response.builder()
                 .status(200)
@@ -78,7 +82,7 @@ public class SupplierServiceImpl implements SupplierService {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Supplier Not Found"));
 
-        SupplierDTO supplierDTO = modelMapper.map(supplier, SupplierDTO.class);
+        SupplierDTO supplierDTO = supplierMapper.toDTO(supplier);
 
         return Response.builder()
                 .status(200)
@@ -88,12 +92,14 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
+    @Transactional
     public Response deleteSupplier(Long id) {
 
         supplierRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Supplier Not Found"));
 
         supplierRepository.deleteById(id);
+        inventoryCounterService.add(InventoryCounterName.SUPPLIERS, -1);
 
         return Response.builder()
                 .status(200)
@@ -102,6 +108,6 @@ public class SupplierServiceImpl implements SupplierService {
     }
         @Override
         public long countSuppliers() {
-        return supplierRepository.count();
+        return inventoryCounterService.getCount(InventoryCounterName.SUPPLIERS);
         }
 }
@@ -0,0 +1,103 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.enums.ImageSize;
+import com.phegondev.InventoryMgtSystem.services.ThumbnailService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Derivatives are scaled from one decode of the original, subsampled while reading so a large photo is never held
+// in memory at full resolution. Opaque images become JPEG, images with transparency PNG.
+@Service
+@Slf4j
+public class ThumbnailServiceImpl implements ThumbnailService {
+
+    @Override
+    public Thumbnails generate(Path original) throws IOException {
+        BufferedImage source = read(original, ImageSize.LARGE.getMaxDimension());
+        if (source == null) return null;
+
+        boolean alpha = source.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpg";
+        Map<ImageSize, Path> files = new EnumMap<>(ImageSize.class);
+        try {
+            // largest first, each derivative is scaled down from the previous one
+            BufferedImage current = source;
+            for (ImageSize size : List.of(ImageSize.LARGE, ImageSize.MEDIUM, ImageSize.SMALL)) {
+                current = scaleToFit(current, size.getMaxDimension(), alpha);
+                Path file = Files.createTempFile("thumbnail-", "." + format);
+                files.put(size, file);
+                if (!ImageIO.write(current, format, file.toFile()))
+                    throw new IOException("No " + format + " writer available");
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Path file : files.values()) Files.deleteIfExists(file);
+            throw e;
+        }
+        return new Thumbnails(files, alpha ? "image/png" : "image/jpeg");
+    }
+
+    // decodes at no more than twice the target size, which still leaves room for a smooth downscale
+    private static BufferedImage read(Path file, int target) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                log.info("No decoder for image {}, skipping thumbnails", file.getFileName());
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longest / (2 * target));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // halves while more than twice too large, then one bilinear step to the exact size; never upscales
+    private static BufferedImage scaleToFit(BufferedImage image, int maxDimension, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int longest = Math.max(image.getWidth(), image.getHeight());
+        if (longest <= maxDimension && image.getType() == type) return image;
+
+        BufferedImage current = image;
+        while (Math.max(current.getWidth(), current.getHeight()) > 2 * maxDimension) {
+            current = resize(current, Math.max(1, current.getWidth() / 2), Math.max(1, current.getHeight() / 2), type);
+        }
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(current.getWidth(), current.getHeight()));
+        return resize(current, Math.max(1, (int) Math.round(current.getWidth() * scale)),
+                Math.max(1, (int) Math.round(current.getHeight() * scale)), type);
+    }
+
+    private static BufferedImage resize(BufferedImage image, int width, int height, int type) {
+        BufferedImage resized = new BufferedImage(width, height, type);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+}
@@ -3,24 +3,36 @@ package com.phegondev.InventoryMgtSystem.services.impl;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
 import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
 import com.phegondev.InventoryMgtSystem.dtos.TransactionRequest;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionRollupDTO;
+import com.phegondev.InventoryMgtSystem.enums.InventoryCounterName;
 import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
 import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.exceptions.InsufficientStockException;
 import com.phegondev.InventoryMgtSystem.exceptions.NameValueRequiredException;
 import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.mappers.TransactionMapper;
 import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.ProductQuantity;
 import com.phegondev.InventoryMgtSystem.models.Supplier;
 import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.TransactionLine;
+import com.phegondev.InventoryMgtSystem.models.TransactionSeriesBucket;
 import com.phegondev.InventoryMgtSystem.models.User;
 import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
 import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionMonthlyRollupRepository;
 import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionSeriesBucketRepository;
+import com.phegondev.InventoryMgtSystem.services.InventoryCounterService;
+import com.phegondev.InventoryMgtSystem.services.ProductFacetIndex;
+import com.phegondev.InventoryMgtSystem.services.StockEscrowService;
 import com.phegondev.InventoryMgtSystem.services.TransactionService;
 import com.phegondev.InventoryMgtSystem.services.UserService;
+import com.phegondev.InventoryMgtSystem.specification.KeysetCursor;
 import com.phegondev.InventoryMgtSystem.specification.TransactionFilter;
+import com.phegondev.InventoryMgtSystem.specification.TransactionSearchDocument;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -28,32 +40,50 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+        private static final int MAX_CURSOR_PAGE_SIZE = 200;
+        // the transactions page loads a single 1000 row page and pages through it in the browser
+        private static final int MAX_OFFSET_PAGE_SIZE = 1000;
+
         private final TransactionRepository transactionRepository;
         private final ProductRepository productRepository;
         private final SupplierRepository supplierRepository;
         private final UserService userService;
-        private final ModelMapper modelMapper;
+        private final StockEscrowService stockEscrowService;
+        private final TransactionMonthlyRollupRepository transactionMonthlyRollupRepository;
+        private final TransactionSeriesBucketRepository transactionSeriesBucketRepository;
+        private final InventoryCounterService inventoryCounterService;
+        private final TransactionMapper transactionMapper;
+        private final ProductFacetIndex productFacetIndex;
 
 
         @Override
+        @Transactional
         public Response purchase(TransactionRequest transactionRequest) {
-                List<Long> productIds = transactionRequest.getProductIds();
                 Long supplierId = transactionRequest.getSupplierId();
-                Integer quantity = transactionRequest.getQuantity();
 
                 if (supplierId == null)
                         throw new NameValueRequiredException("Supplier Id is Required");
@@ -63,31 +93,25 @@ public class TransactionServiceImpl implements TransactionService {
 
                 User user = userService.getCurrentLoggedInUser();
 
-                Set<Product> products = new HashSet<>();
-                BigDecimal totalPrice = BigDecimal.ZERO;
-
-                for (Long productId : productIds) {
-                        Product product = productRepository.findById(productId)
-                                        .orElseThrow(() -> new NotFoundException("Product Not Found"));
-                        product.setStockQuantity(product.getStockQuantity() + quantity);
-                        productRepository.save(product);
-                        products.add(product);
-                        totalPrice = totalPrice.add(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
-                }
+                Map<Long, Integer> quantities = quantitiesByProduct(transactionRequest);
+                Map<Long, Product> productsById = loadProducts(quantities.keySet());
+                increaseStock(quantities);
 
                 Transaction transaction = Transaction.builder()
                                 .transactionType(TransactionType.PURCHASE)
                                 .status(TransactionStatus.COMPLETED)
-                                .products(products)
                                 .user(user)
                                 .supplier(supplier)
-                                .totalProducts(quantity)
-                                .totalPrice(totalPrice)
+                                .totalProducts(totalQuantity(quantities))
+                                .totalPrice(totalPrice(quantities, productsById))
                                 .description(transactionRequest.getDescription())
                                 .note(transactionRequest.getNote())
                                 .build();
+                transaction.setLines(buildLines(transaction, quantities, productsById));
+                transaction.setSearchDocument(TransactionSearchDocument.of(transaction));
 
                 transactionRepository.save(transaction);
+                recordAggregates(transaction, 1);
                 return Response.builder()
                                 .status(200)
                                 .message("Purchase Made successfully")
@@ -96,36 +120,32 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         @Override
+        @Transactional
         public Response sell(TransactionRequest transactionRequest) {
-                List<Long> productIds = transactionRequest.getProductIds();
-                Integer quantity = transactionRequest.getQuantity();
-
-                User user = userService.getCurrentLoggedInUser();
-
-                Set<Product> products = new HashSet<>();
-                BigDecimal totalPrice = BigDecimal.ZERO;
+                return sell(transactionRequest, userService.getCurrentLoggedInUser());
+        }
 
-                for (Long productId : productIds) {
-                        Product product = productRepository.findById(productId)
-                                        .orElseThrow(() -> new NotFoundException("Product Not Found"));
-                        product.setStockQuantity(product.getStockQuantity() - quantity);
-                        productRepository.save(product);
-                        products.add(product);
-                        totalPrice = totalPrice.add(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
-                }
+        @Override
+        @Transactional
+        public Response sell(TransactionRequest transactionRequest, User user) {
+                Map<Long, Integer> quantities = quantitiesByProduct(transactionRequest);
+                Map<Long, Product> productsById = loadProducts(quantities.keySet());
+                decreaseStock(quantities, productsById, true);
 
                 Transaction transaction = Transaction.builder()
                                 .transactionType(TransactionType.SALE)
                                 .status(TransactionStatus.COMPLETED)
-                                .products(products)
                                 .user(user)
-                                .totalProducts(quantity)
-                                .totalPrice(totalPrice)
+                                .totalProducts(totalQuantity(quantities))
+                                .totalPrice(totalPrice(quantities, productsById))
                                 .description(transactionRequest.getDescription())
                                 .note(transactionRequest.getNote())
                                 .build();
+                transaction.setLines(buildLines(transaction, quantities, productsById));
+                transaction.setSearchDocument(TransactionSearchDocument.of(transaction));
 
                 transactionRepository.save(transaction);
+                recordAggregates(transaction, 1);
                 return Response.builder()
                                 .status(200)
                                 .message("Product Sale successfully made")
@@ -134,11 +154,10 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         @Override
+        @Transactional
         public Response returnToSupplier(TransactionRequest transactionRequest) {
 
-                List<Long> productIds = transactionRequest.getProductIds(); // Remplace productId par une liste
                 Long supplierId = transactionRequest.getSupplierId();
-                Integer quantity = transactionRequest.getQuantity();
 
                 if (supplierId == null)
                         throw new NameValueRequiredException("Supplier Id is Required");
@@ -148,28 +167,25 @@ public class TransactionServiceImpl implements TransactionService {
 
                 User user = userService.getCurrentLoggedInUser();
 
-                Set<Product> products = new HashSet<>();
-                for (Long productId : productIds) {
-                        Product product = productRepository.findById(productId)
-                                        .orElseThrow(() -> new NotFoundException("Product Not Found"));
-                        product.setStockQuantity(product.getStockQuantity() - quantity);
-                        productRepository.save(product);
-                        products.add(product);
-                }
+                Map<Long, Integer> quantities = quantitiesByProduct(transactionRequest);
+                Map<Long, Product> productsById = loadProducts(quantities.keySet());
+                decreaseStock(quantities, productsById, false);
 
                 Transaction transaction = Transaction.builder()
                                 .transactionType(TransactionType.RETURN_TO_SUPPLIER)
                                 .status(TransactionStatus.PROCESSING)
-                                .products(products)
                                 .user(user)
-                                .totalProducts(quantity)
+                                .totalProducts(totalQuantity(quantities))
                                 .totalPrice(BigDecimal.ZERO)
                                 .description(transactionRequest.getDescription())
                                 .note(transactionRequest.getNote())
                                 .supplier(supplier)
                                 .build();
+                transaction.setLines(buildLines(transaction, quantities, productsById));
+                transaction.setSearchDocument(TransactionSearchDocument.of(transaction));
 
                 transactionRepository.save(transaction);
+                recordAggregates(transaction, 1);
 
                 return Response.builder()
                                 .status(200)
@@ -179,28 +195,25 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         @Override
+        @Transactional(readOnly = true)
         public Response getAllTransactions(int page, int size, String filter) {
 
-                Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
+                if (size < 1 || size > MAX_OFFSET_PAGE_SIZE)
+                        throw new NameValueRequiredException("Page size must be between 1 and " + MAX_OFFSET_PAGE_SIZE);
+
+                // searches are ordered by relevance by the filter itself
+                Pageable pageable = filter == null || filter.isBlank()
+                                ? PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"))
+                                : PageRequest.of(page, size);
 
                 // user the Transaction specification
                 Specification<Transaction> spec = TransactionFilter.byFilter(filter);
-                Page<Transaction> transactionPage = transactionRepository.findAll(spec, pageable);
-
-                List<TransactionDTO> transactionDTOS = modelMapper.map(transactionPage.getContent(),
-                                new TypeToken<List<TransactionDTO>>() {
-                                }.getType());
-
-                transactionDTOS.forEach(transactionDTO -> {
-                        transactionDTO.setUser(null);
-                        transactionDTO.setProducts(null);
-                        transactionDTO.setSupplier(null);
-                });
+                Page<TransactionDTO> transactionPage = transactionRepository.findListItems(spec, pageable);
 
                 return Response.builder()
                                 .status(200)
                                 .message("success")
-                                .transactions(transactionDTOS)
+                                .transactions(transactionPage.getContent())
                                 .totalElements(transactionPage.getTotalElements())
                                 .totalPages(transactionPage.getTotalPages())
                                 .build();
@@ -208,14 +221,45 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         @Override
+        @Transactional(readOnly = true)
+        public Response getTransactionsByCursor(String cursor, int size, String filter, boolean withCount) {
+
+                if (size < 1 || size > MAX_CURSOR_PAGE_SIZE)
+                        throw new NameValueRequiredException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+
+                // seek past the last id of the previous page instead of skipping rows with an OFFSET
+                Specification<Transaction> spec = TransactionFilter.byFilter(filter);
+                Long lastSeenId = KeysetCursor.decode(cursor);
+                if (lastSeenId != null)
+                        spec = spec.and(TransactionFilter.idBefore(lastSeenId));
+
+                // fetch one extra row to know whether there is a next page without counting
+                List<TransactionDTO> transactionDTOS = transactionRepository.findListItems(spec,
+                                Sort.by(Sort.Direction.DESC, "id"), size + 1);
+
+                String nextCursor = null;
+                if (transactionDTOS.size() > size) {
+                        transactionDTOS = transactionDTOS.subList(0, size);
+                        nextCursor = KeysetCursor.encode(transactionDTOS.get(size - 1).getId());
+                }
+
+                return Response.builder()
+                                .status(200)
+                                .message("success")
+                                .transactions(transactionDTOS)
+                                .nextCursor(nextCursor)
+                                .totalElements(withCount ? transactionRepository.count(TransactionFilter.byFilter(filter)) : null)
+                                .build();
+        }
+
+        @Override
+        @Transactional(readOnly = true)
         public Response getAllTransactionById(Long id) {
 
-                Transaction transaction = transactionRepository.findById(id)
+                Transaction transaction = transactionRepository.findDetailById(id)
                                 .orElseThrow(() -> new NotFoundException("Transaction Not Found"));
 
-                TransactionDTO transactionDTO = modelMapper.map(transaction, TransactionDTO.class);
-
-                transactionDTO.getUser().setTransactions(null);
+                TransactionDTO transactionDTO = transactionMapper.toDetailDTO(transaction);
 
                 return Response.builder()
                                 .status(200)
@@ -225,19 +269,12 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         @Override
+        @Transactional(readOnly = true)
         public Response getAllTransactionByMonthAndYear(int month, int year) {
-                List<Transaction> transactions = transactionRepository
-                                .findAll(TransactionFilter.byMonthAndYear(month, year));
-
-                List<TransactionDTO> transactionDTOS = modelMapper.map(transactions,
-                                new TypeToken<List<TransactionDTO>>() {
-                                }.getType());
+                validateMonth(month);
 
-                transactionDTOS.forEach(transactionDTO -> {
-                        transactionDTO.setUser(null);
-                        transactionDTO.setProducts(null);
-                        transactionDTO.setSupplier(null);
-                });
+                List<TransactionDTO> transactionDTOS = transactionRepository
+                                .findListItems(TransactionFilter.byMonthAndYear(month, year));
 
                 return Response.builder()
                                 .status(200)
@@ -247,13 +284,36 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         @Override
+        public Response getMonthlySummary(int month, int year) {
+                validateMonth(month);
+
+                List<TransactionRollupDTO> rollups = transactionMonthlyRollupRepository.findByYearAndMonth(year, month)
+                                .stream()
+                                .map(transactionMapper::toDTO)
+                                .collect(Collectors.toList());
+
+                return Response.builder()
+                                .status(200)
+                                .message("success")
+                                .monthlySummary(rollups)
+                                .build();
+        }
+
+        @Override
+        @Transactional
         public Response updateTransactionStatus(Long transactionId, TransactionStatus status) {
 
                 Transaction existingTransaction = transactionRepository.findById(transactionId)
                                 .orElseThrow(() -> new NotFoundException("Transaction Not Found"));
 
+                // move the transaction from its old status buckets to the new ones in a single pass
+                AggregateDeltas deltas = new AggregateDeltas();
+                deltas.add(existingTransaction, -1);
                 existingTransaction.setStatus(status);
                 existingTransaction.setUpdateAt(LocalDateTime.now());
+                deltas.add(existingTransaction, 1);
+                applyAggregates(deltas);
+                existingTransaction.setSearchDocument(TransactionSearchDocument.of(existingTransaction));
 
                 transactionRepository.save(existingTransaction);
 
@@ -270,18 +330,206 @@ public class TransactionServiceImpl implements TransactionService {
 
         
        public Double countCompletedSales() {
-    return transactionRepository.sumSalesByTypeAndStatus(TransactionType.SALE, TransactionStatus.COMPLETED);
+    return inventoryCounterService.getValue(InventoryCounterName.COMPLETED_SALES_TOTAL).doubleValue();
 }
 
 
+        // Loads every product of the request with a single query instead of one findById per line
+        private Map<Long, Product> loadProducts(Set<Long> productIds) {
+                Map<Long, Product> productsById = productRepository.findAllById(productIds).stream()
+                                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+                if (productsById.size() != productIds.size())
+                        throw new NotFoundException("Product Not Found");
+
+                return productsById;
+        }
+
+        // Sums the requested quantity per product, ordered by id so concurrent baskets lock product rows in the same order.
+        // Lines sent without their own quantity fall back to the request level quantity.
+        private Map<Long, Integer> quantitiesByProduct(TransactionRequest transactionRequest) {
+                if (transactionRequest.getProducts() == null || transactionRequest.getProducts().isEmpty())
+                        throw new NameValueRequiredException("Product Ids are Required");
+
+                Map<Long, Integer> quantities = new TreeMap<>();
+
+                for (ProductQuantity productQuantity : transactionRequest.getProducts()) {
+                        Integer quantity = productQuantity.getQuantity() != null
+                                        ? productQuantity.getQuantity()
+                                        : transactionRequest.getQuantity();
+
+                        if (productQuantity.getProductId() == null || quantity == null || quantity <= 0)
+                                throw new NameValueRequiredException("Product Id and a positive quantity are Required");
+
+                        quantities.merge(productQuantity.getProductId(), quantity, Integer::sum);
+                }
+                return quantities;
+        }
+
+        // Keeps the reporting aggregates in step with the transactions, inside the same database transaction.
+        private void recordAggregates(Transaction transaction, int sign) {
+                AggregateDeltas deltas = new AggregateDeltas();
+                deltas.add(transaction, sign);
+                applyAggregates(deltas);
+        }
+
+        // Writes the net change of each aggregate row once, in a fixed order: the monthly rollup, then the series
+        // buckets by product id, then the counters. Concurrent writes therefore lock the shared rows in the same order.
+        private void applyAggregates(AggregateDeltas deltas) {
+                deltas.rollups.forEach((key, amounts) -> transactionMonthlyRollupRepository.addToBucket(
+                                key.year(), key.month(), key.type(), key.status(),
+                                amounts.count(), amounts.products(), amounts.price()));
+                deltas.series.forEach((key, amounts) -> transactionSeriesBucketRepository.addToBucket(
+                                key.productId(), key.day(), key.type(), key.status(),
+                                amounts.count(), amounts.products(), amounts.price()));
+                deltas.counts.forEach(inventoryCounterService::add);
+                deltas.values.forEach(inventoryCounterService::add);
+        }
+
+        private record RollupKey(int year, int month, String type, String status) {
+        }
+
+        private record SeriesKey(long productId, LocalDate day, String type, String status) {
+        }
+
+        private record Amounts(long count, long products, BigDecimal price) {
+
+                Amounts plus(Amounts other) {
+                        return new Amounts(count + other.count, products + other.products, price.add(other.price));
+                }
+
+                boolean isZero() {
+                        return count == 0 && products == 0 && price.signum() == 0;
+                }
+        }
+
+        // Sums what transactions add to (sign 1) or take out of (sign -1) the aggregates, so that moving a
+        // transaction between statuses touches each row once and leaves the rows whose net change is zero alone.
+        private static final class AggregateDeltas {
+
+                private final Map<RollupKey, Amounts> rollups = new TreeMap<>(Comparator
+                                .comparingInt(RollupKey::year).thenComparingInt(RollupKey::month)
+                                .thenComparing(RollupKey::type).thenComparing(RollupKey::status));
+                // product id 0, the all products bucket, comes first
+                private final Map<SeriesKey, Amounts> series = new TreeMap<>(Comparator
+                                .comparingLong(SeriesKey::productId).thenComparing(SeriesKey::day)
+                                .thenComparing(SeriesKey::type).thenComparing(SeriesKey::status));
+                private final Map<InventoryCounterName, Long> counts = new EnumMap<>(InventoryCounterName.class);
+                private final Map<InventoryCounterName, BigDecimal> values = new EnumMap<>(InventoryCounterName.class);
+
+                void add(Transaction transaction, int sign) {
+                        String type = transaction.getTransactionType().name();
+                        String status = transaction.getStatus().name();
+                        LocalDate day = transaction.getCreatedAt().toLocalDate();
+                        BigDecimal totalPrice = Objects.requireNonNullElse(transaction.getTotalPrice(), BigDecimal.ZERO);
+                        Amounts total = new Amounts(sign,
+                                        (long) sign * Objects.requireNonNullElse(transaction.getTotalProducts(), 0),
+                                        totalPrice.multiply(BigDecimal.valueOf(sign)));
+
+                        merge(rollups, new RollupKey(day.getYear(), day.getMonthValue(), type, status), total);
+
+                        // one all products bucket for the transaction and one bucket per product line; line amounts
+                        // follow the transaction total, so returns to supplier stay at zero
+                        merge(series, new SeriesKey(TransactionSeriesBucket.ALL_PRODUCTS, day, type, status), total);
+                        if (transaction.getLines() != null) {
+                                for (TransactionLine line : transaction.getLines()) {
+                                        BigDecimal amount = totalPrice.signum() == 0
+                                                        ? BigDecimal.ZERO
+                                                        : line.getUnitPrice().multiply(BigDecimal.valueOf(line.getQuantity()));
+                                        merge(series, new SeriesKey(line.getProduct().getId(), day, type, status),
+                                                        new Amounts(sign, (long) sign * line.getQuantity(),
+                                                                        amount.multiply(BigDecimal.valueOf(sign))));
+                                }
+                        }
+
+                        mergeCounter(counts, InventoryCounterName.transactionsOf(transaction.getTransactionType()),
+                                        (long) sign, Long::sum, value -> value == 0);
+                        if (transaction.getTransactionType() == TransactionType.SALE
+                                        && transaction.getStatus() == TransactionStatus.COMPLETED)
+                                mergeCounter(values, InventoryCounterName.COMPLETED_SALES_TOTAL, total.price(),
+                                                BigDecimal::add, value -> value.signum() == 0);
+                }
+
+                private static <K> void merge(Map<K, Amounts> deltas, K key, Amounts amounts) {
+                        Amounts merged = deltas.containsKey(key) ? deltas.get(key).plus(amounts) : amounts;
+                        if (merged.isZero()) deltas.remove(key);
+                        else deltas.put(key, merged);
+                }
+
+                private static <V> void mergeCounter(Map<InventoryCounterName, V> deltas, InventoryCounterName name,
+                                                     V delta, BinaryOperator<V> sum, Predicate<V> isZero) {
+                        V merged = deltas.containsKey(name) ? sum.apply(deltas.get(name), delta) : delta;
+                        if (isZero.test(merged)) deltas.remove(name);
+                        else deltas.put(name, merged);
+                }
+        }
+
+        private void validateMonth(int month) {
+                if (month < 1 || month > 12)
+                        throw new NameValueRequiredException("Month must be between 1 and 12");
+        }
+
+        private int totalQuantity(Map<Long, Integer> quantities) {
+                return quantities.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        private BigDecimal totalPrice(Map<Long, Integer> quantities, Map<Long, Product> productsById) {
+                BigDecimal totalPrice = BigDecimal.ZERO;
+                for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                        BigDecimal price = productsById.get(entry.getKey()).getPrice();
+                        totalPrice = totalPrice.add(price.multiply(BigDecimal.valueOf(entry.getValue())));
+                }
+                return totalPrice;
+        }
+
+        // One transaction_line per product, inserted in a single JDBC batch when the transaction is saved
+        private List<TransactionLine> buildLines(Transaction transaction, Map<Long, Integer> quantities,
+                        Map<Long, Product> productsById) {
+                List<TransactionLine> lines = new ArrayList<>();
+                quantities.forEach((productId, quantity) -> {
+                        Product product = productsById.get(productId);
+                        lines.add(TransactionLine.builder()
+                                        .transaction(transaction)
+                                        .product(product)
+                                        .quantity(quantity)
+                                        .unitPrice(product.getPrice())
+                                        .build());
+                });
+                return lines;
+        }
+
+        private void increaseStock(Map<Long, Integer> quantities) {
+                quantities.forEach((productId, quantity) -> {
+                        productRepository.increaseStock(productId, quantity);
+                        productFacetIndex.stockChanged(productId, quantity);
+                });
+        }
+
+        // Uses a guarded update per product so concurrent sales can never lose an update or drive stock negative;
+        // a single failing line rolls back the whole transaction. Hibernate does not JDBC-batch bulk updates, but
+        // unlike a raw JDBC batch they keep the product and query caches invalidated.
+        // Sales of escrow enabled products are served from this node's escrow block when it has enough units left.
+        private void decreaseStock(Map<Long, Integer> quantities, Map<Long, Product> productsById, boolean useEscrow) {
+                quantities.forEach((productId, quantity) -> {
+                        if (useEscrow && productsById.get(productId).isEscrowEnabled()
+                                        && stockEscrowService.tryConsume(productId, quantity))
+                                return;
+
+                        if (productRepository.decreaseStockIfAvailable(productId, quantity) == 0)
+                                throw new InsufficientStockException(
+                                                "Insufficient stock for product " + productsById.get(productId).getName());
+                        productFacetIndex.stockChanged(productId, -quantity);
+                });
+        }
+
         @Override
 public Map<String, Long> countAllTransactionTypes() {
-    List<Object[]> results = transactionRepository.countAllTransactionTypes();
     Map<String, Long> map = new HashMap<>();
-    for (Object[] result : results) {
-        TransactionType type = (TransactionType) result[0];
-        Long count = (Long) result[1];
-        map.put(type.name(), count);
+    for (TransactionType type : TransactionType.values()) {
+        long count = inventoryCounterService.getCount(InventoryCounterName.transactionsOf(type));
+        if (count > 0) {
+            map.put(type.name(), count);
+        }
     }
     return map;
 }
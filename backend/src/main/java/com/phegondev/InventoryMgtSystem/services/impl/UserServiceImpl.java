@@ -3,24 +3,35 @@ package com.phegondev.InventoryMgtSystem.services.impl;
 import com.phegondev.InventoryMgtSystem.dtos.LoginRequest;
 import com.phegondev.InventoryMgtSystem.dtos.RegisterRequest;
 import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
 import com.phegondev.InventoryMgtSystem.dtos.UserDTO;
 import com.phegondev.InventoryMgtSystem.enums.UserRole;
 import com.phegondev.InventoryMgtSystem.exceptions.InvalidCredentialsException;
+import com.phegondev.InventoryMgtSystem.exceptions.NameValueRequiredException;
 import com.phegondev.InventoryMgtSystem.exceptions.NotFoundException;
+import com.phegondev.InventoryMgtSystem.exceptions.PasswordHashingBusyException;
+import com.phegondev.InventoryMgtSystem.mappers.UserMapper;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
 import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
 import com.phegondev.InventoryMgtSystem.repositories.UserRepository;
+import com.phegondev.InventoryMgtSystem.security.AuthUser;
+import com.phegondev.InventoryMgtSystem.security.CustomUserDetailsService;
 import com.phegondev.InventoryMgtSystem.security.JwtUtils;
+import com.phegondev.InventoryMgtSystem.security.LoginThrottle;
+import com.phegondev.InventoryMgtSystem.services.PasswordHashingService;
 import com.phegondev.InventoryMgtSystem.services.UserService;
+import com.phegondev.InventoryMgtSystem.specification.KeysetCursor;
+import com.phegondev.InventoryMgtSystem.specification.TransactionFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
@@ -28,10 +39,15 @@ import java.util.List;
 @Slf4j
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 200;
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final ModelMapper modelMapper;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionRepository transactionRepository;
+    private final UserMapper userMapper;
     private final JwtUtils jwtUtils;
+    private final CustomUserDetailsService customUserDetailsService;
+    private final LoginThrottle loginThrottle;
 
 
     @Override
@@ -46,7 +62,7 @@ public class UserServiceImpl implements UserService {
         User userToSave = User.builder()
                 .name(registerRequest.getName())
                 .email(registerRequest.getEmail())
-                .password(passwordEncoder.encode(registerRequest.getPassword()))
+                .password(passwordHashingService.encode(registerRequest.getPassword()))
                 .phoneNumber(registerRequest.getPhoneNumber())
                 .role(role)
                 .build();
@@ -60,14 +76,18 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Response loginUser(LoginRequest loginRequest) {
+    public Response loginUser(LoginRequest loginRequest, String clientAddress) {
+
+        //turned away before the lookup and the hashing when the email or the address is over its budget
+        loginThrottle.acquire(loginRequest.getEmail(), clientAddress);
 
         User user = userRepository.findByEmail(loginRequest.getEmail())
                 .orElseThrow(() -> new NotFoundException("Email Not Found"));
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(loginRequest.getPassword(), user.getPassword())) {
             throw new InvalidCredentialsException("Password Does Not Match");
         }
+        rehashIfOutdated(user, loginRequest.getPassword());
         String token = jwtUtils.generateToken(user.getEmail());
 
         return Response.builder()
@@ -79,15 +99,25 @@ public class UserServiceImpl implements UserService {
                 .build();
     }
 
+    //the only moment the raw password is known, so hashes made with an older strength are upgraded here
+    private void rehashIfOutdated(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) return;
+        try {
+            user.setPassword(passwordHashingService.encode(rawPassword));
+            userRepository.save(user);
+            customUserDetailsService.evict(user.getEmail());
+        } catch (PasswordHashingBusyException e) {
+            //the login itself succeeded, the upgrade is retried on the next one
+            log.debug("Skipped password rehash for user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
     @Override
     public Response getAllUsers() {
 
         List<User> users = userRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
 
-        users.forEach(user -> user.setTransactions(null));
-
-        List<UserDTO> userDTOS = modelMapper.map(users, new TypeToken<List<UserDTO>>() {
-        }.getType());
+        List<UserDTO> userDTOS = userMapper.toDTOs(users);
 
         return Response.builder()
                 .status(200)
@@ -100,6 +130,11 @@ public class UserServiceImpl implements UserService {
     public User getCurrentLoggedInUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
+        //resolved by AuthFilter from the principal cache, no query needed
+        if (authentication.getPrincipal() instanceof AuthUser authUser) {
+            return authUser.getUser();
+        }
+
         String email = authentication.getName();
 
         User user = userRepository.findByEmail(email).orElseThrow(() -> new NotFoundException("User Not Found"));
@@ -114,9 +149,7 @@ public class UserServiceImpl implements UserService {
 
         User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException("User Not Found"));
 
-        UserDTO userDTO = modelMapper.map(user, UserDTO.class);
-
-        userDTO.setTransactions(null);
+        UserDTO userDTO = userMapper.toDTO(user);
 
         return Response.builder()
                 .status(200)
@@ -129,6 +162,7 @@ public class UserServiceImpl implements UserService {
     public Response updateUser(Long id, UserDTO userDTO) {
 
         User existingUser = userRepository.findById(id).orElseThrow(() -> new NotFoundException("User Not Found"));
+        String previousEmail = existingUser.getEmail();
 
         if (userDTO.getEmail() != null) existingUser.setEmail(userDTO.getEmail());
         if (userDTO.getPhoneNumber() != null) existingUser.setPhoneNumber(userDTO.getPhoneNumber());
@@ -136,9 +170,11 @@ public class UserServiceImpl implements UserService {
         if (userDTO.getRole() != null) existingUser.setRole(userDTO.getRole());
 
         if (userDTO.getPassword() != null && !userDTO.getPassword().isEmpty()) {
-            existingUser.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+            existingUser.setPassword(passwordHashingService.encode(userDTO.getPassword()));
         }
         userRepository.save(existingUser);
+        customUserDetailsService.evict(previousEmail);
+        customUserDetailsService.evict(existingUser.getEmail());
 
         return Response.builder()
                 .status(200)
@@ -148,9 +184,10 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Response deleteUser(Long id) {
-        userRepository.findById(id).orElseThrow(() -> new NotFoundException("User Not Found"));
+        User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException("User Not Found"));
 
         userRepository.deleteById(id);
+        customUserDetailsService.evict(user.getEmail());
 
         return Response.builder()
                 .status(200)
@@ -160,21 +197,36 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Response getUserTransactions(Long id) {
+    public Response getUserTransactions(Long id, String cursor, int size, LocalDate from, LocalDate to) {
+
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE)
+            throw new NameValueRequiredException("Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
 
         User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException("User Not Found"));
 
-        UserDTO userDTO = modelMapper.map(user, UserDTO.class);
+        // one page of the user's history, newest first, read through the (user_id, id) index
+        Specification<Transaction> spec = TransactionFilter.byUser(id)
+                .and(TransactionFilter.createdBetween(from, to));
+        Long lastSeenId = KeysetCursor.decode(cursor);
+        if (lastSeenId != null) spec = spec.and(TransactionFilter.idBefore(lastSeenId));
+
+        List<TransactionDTO> transactionDTOS = transactionRepository.findListItems(spec,
+                Sort.by(Sort.Direction.DESC, "id"), size + 1);
+
+        String nextCursor = null;
+        if (transactionDTOS.size() > size) {
+            transactionDTOS = transactionDTOS.subList(0, size);
+            nextCursor = KeysetCursor.encode(transactionDTOS.get(size - 1).getId());
+        }
 
-        userDTO.getTransactions().forEach(transactionDTO -> {
-            transactionDTO.setUser(null);
-            transactionDTO.setSupplier(null);
-        });
+        UserDTO userDTO = userMapper.toDTO(user);
+        userDTO.setTransactions(transactionDTOS);
 
         return Response.builder()
                 .status(200)
                 .message("success")
                 .user(userDTO)
+                .nextCursor(nextCursor)
                 .build();
     }
 }
@@ -0,0 +1,25 @@
+package com.phegondev.InventoryMgtSystem.specification;
+
+import com.phegondev.InventoryMgtSystem.exceptions.NameValueRequiredException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque cursor handed to clients for keyset pagination, it holds the last id of the previous page
+public class KeysetCursor {
+
+    public static String encode(Long lastSeenId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastSeenId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return null;
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new NameValueRequiredException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.phegondev.InventoryMgtSystem.specification;
+
+import java.util.Locale;
+
+// LIKE patterns built from user input: %, _ and the escape character itself are matched literally.
+// The escape is not a backslash, which MySQL would also read as a string literal escape.
+public final class LikePattern {
+
+    public static final char ESCAPE = '!';
+
+    private LikePattern() {
+    }
+
+    // lowercased "contains" pattern, to be used with ESCAPE as the escape character
+    public static String contains(String value) {
+        StringBuilder pattern = new StringBuilder(value.length() + 8).append('%');
+        for (char c : value.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                pattern.append(ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
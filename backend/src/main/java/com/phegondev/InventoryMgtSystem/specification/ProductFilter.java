@@ -0,0 +1,76 @@
+package com.phegondev.InventoryMgtSystem.specification;
+
+import com.phegondev.InventoryMgtSystem.models.Product;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+
+// Filters of the product catalog; a null argument leaves the filter out
+public class ProductFilter {
+
+
+    public static Specification<Product> byCategory(Long categoryId) {
+        return (root, query, criteriaBuilder) -> categoryId == null
+                ? criteriaBuilder.conjunction()
+                : criteriaBuilder.equal(root.get("category").get("id"), categoryId);
+    }
+
+
+    public static Specification<Product> priceBetween(BigDecimal min, BigDecimal max) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                min == null ? criteriaBuilder.conjunction() : criteriaBuilder.greaterThanOrEqualTo(root.get("price"), min),
+                max == null ? criteriaBuilder.conjunction() : criteriaBuilder.lessThanOrEqualTo(root.get("price"), max));
+    }
+
+
+    public static Specification<Product> stockBetween(Integer min, Integer max) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                min == null ? criteriaBuilder.conjunction() : criteriaBuilder.greaterThanOrEqualTo(root.get("stockQuantity"), min),
+                max == null ? criteriaBuilder.conjunction() : criteriaBuilder.lessThanOrEqualTo(root.get("stockQuantity"), max));
+    }
+
+
+    public static Specification<Product> bySearch(String search) {
+        return (root, query, criteriaBuilder) -> {
+            if (search == null || search.isBlank()) {
+                return criteriaBuilder.conjunction();
+            }
+            String pattern = LikePattern.contains(search.trim());
+            return criteriaBuilder.or(
+                    criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), pattern, LikePattern.ESCAPE),
+                    criteriaBuilder.like(criteriaBuilder.lower(root.get("sku")), pattern, LikePattern.ESCAPE));
+        };
+    }
+
+
+    // Loads the (eager) category in the same select instead of one select per category; count queries skip it
+    public static Specification<Product> fetchCategory() {
+        return (root, query, criteriaBuilder) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch("category", JoinType.LEFT);
+            }
+            return criteriaBuilder.conjunction();
+        };
+    }
+
+
+    // Keyset conditions for cursor pagination in either id direction
+    public static Specification<Product> idBefore(Long lastSeenId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.lessThan(root.get("id"), lastSeenId);
+    }
+
+    public static Specification<Product> idAfter(Long lastSeenId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("id"), lastSeenId);
+    }
+
+
+    // Restricts to the ids matched by the in-memory search index
+    public static Specification<Product> idIn(List<Long> ids) {
+        return (root, query, criteriaBuilder) -> ids.isEmpty()
+                ? criteriaBuilder.disjunction()
+                : root.get("id").in(ids);
+    }
+}
@@ -2,12 +2,11 @@ package com.phegondev.InventoryMgtSystem.specification;
 
 import com.phegondev.InventoryMgtSystem.models.Transaction;
 import jakarta.persistence.criteria.Expression;
-import jakarta.persistence.criteria.JoinType;
-import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
 
 //Specification is used in Filtering data in a database
 public class TransactionFilter {
@@ -16,72 +15,60 @@ public class TransactionFilter {
     public static Specification<Transaction> byFilter(String searchValue) {
         return (root, query, criteriaBuilder) -> {
             // If filter is null or empty, return true for all transactions
-            if (searchValue == null || searchValue.isEmpty()) {
+            if (searchValue == null || searchValue.isBlank()) {
                 return criteriaBuilder.conjunction(); // Always true
             }
 
-            String searchPattern = "%" + searchValue.toLowerCase() + "%";
-
-            // Create a list to hold all predicates
-            List<Predicate> predicates = new ArrayList<>();
+            // The transaction, user, supplier, product and category fields are denormalized into the
+            // FULLTEXT indexed search document, so no join is needed
+            String booleanQuery = TransactionSearchDocument.toBooleanQuery(searchValue);
+            if (booleanQuery == null) {
+                // words shorter than the index minimum can only be found by scanning the document column
+                return criteriaBuilder.like(root.get("searchDocument"), LikePattern.contains(searchValue), LikePattern.ESCAPE);
+            }
 
-            // Check transactions fields
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("note")), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("status").as(String.class)), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("transactionType").as(String.class)), searchPattern));
+            Expression<Double> relevance = criteriaBuilder.function("fulltext_match", Double.class,
+                    root.get("searchDocument"), criteriaBuilder.literal(booleanQuery));
 
-            // Safely join and check user fields using LEFT JOIN
-            if (root.getJoins().stream().noneMatch(j -> j.getAttribute().getName().equals("user"))) {
-                root.join("user", JoinType.LEFT);
+            // most relevant first, count queries have no ordering
+            if (!Long.class.equals(query.getResultType())) {
+                query.orderBy(criteriaBuilder.desc(relevance), criteriaBuilder.desc(root.get("id")));
             }
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("user", JoinType.LEFT).get("name")), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("user", JoinType.LEFT).get("email")), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("user", JoinType.LEFT).get("phoneNumber")), searchPattern));
+            return criteriaBuilder.greaterThan(relevance, 0.0);
+        };
+    }
 
-            // Safely join and check supplier fields using LEFT JOIN
-            if (root.getJoins().stream().noneMatch(j -> j.getAttribute().getName().equals("supplier"))) {
-                root.join("supplier", JoinType.LEFT);
-            }
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("supplier", JoinType.LEFT).get("name")), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("supplier", JoinType.LEFT).get("contactInfo")), searchPattern));
 
-            // Safely join and check product fields using LEFT JOIN
-            if (root.getJoins().stream().noneMatch(j -> j.getAttribute().getName().equals("product"))) {
-                root.join("product", JoinType.LEFT);
-            }
+    // Keyset condition for cursor pagination, ids are returned in descending order
+    public static Specification<Transaction> idBefore(Long lastSeenId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.lessThan(root.get("id"), lastSeenId);
+    }
 
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("product", JoinType.LEFT).get("name")), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("product", JoinType.LEFT).get("sku")), searchPattern));
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("product", JoinType.LEFT).get("description")), searchPattern));
 
-            // Safely join product category using LEFT JOIN
-            if (root.getJoins().stream().noneMatch(j -> j.getAttribute().getName().equals("product")) &&
-                    root.join("product").getJoins().stream().noneMatch(j -> j.getAttribute().getName().equals("category"))) {
-                root.join("product", JoinType.LEFT).join("category", JoinType.LEFT);
-            }
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.join("product", JoinType.LEFT)
-                    .join("category", JoinType.LEFT).get("name")), searchPattern));
+    public static Specification<Transaction> byUser(Long userId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("user").get("id"), userId);
+    }
 
-            // Combine all predicates with OR
-            return criteriaBuilder.or(predicates.toArray(new Predicate[0]));
-        };
+
+    // Optional inclusive date range on created_at, a missing bound leaves that side open
+    public static Specification<Transaction> createdBetween(LocalDate from, LocalDate to) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                from == null ? criteriaBuilder.conjunction()
+                        : criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), from.atStartOfDay()),
+                to == null ? criteriaBuilder.conjunction()
+                        : criteriaBuilder.lessThan(root.get("createdAt"), to.plusDays(1).atStartOfDay()));
     }
 
 
-    // New method for filtering transactions by month and year
+    // New method for filtering transactions by month and year, as a half-open range on created_at so the
+    // index on that column can be used
     public static Specification<Transaction> byMonthAndYear(int month, int year) {
         return (root, query, criteriaBuilder) -> {
-            // Use the month and year functions on the createdAt date field
-            Expression<Integer> monthExpression = criteriaBuilder.function("month", Integer.class, root.get("createdAt"));
-            Expression<Integer> yearExpression = criteriaBuilder.function("year", Integer.class, root.get("createdAt"));
-
-            // Create predicates for the month and year
-            Predicate monthPredicate = criteriaBuilder.equal(monthExpression, month);
-            Predicate yearPredicate = criteriaBuilder.equal(yearExpression, year);
+            LocalDateTime monthStart = LocalDate.of(year, month, 1).atStartOfDay();
 
-            // Combine the month and year predicates
-            return criteriaBuilder.and(monthPredicate, yearPredicate);
+            return criteriaBuilder.and(
+                    criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), monthStart),
+                    criteriaBuilder.lessThan(root.get("createdAt"), monthStart.plusMonths(1)));
         };
     }
 }
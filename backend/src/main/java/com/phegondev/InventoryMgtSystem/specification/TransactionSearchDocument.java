@@ -0,0 +1,75 @@
+package com.phegondev.InventoryMgtSystem.specification;
+
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.TransactionLine;
+import com.phegondev.InventoryMgtSystem.models.User;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+// Builds the denormalized text that is FULLTEXT indexed for each transaction. It holds the same fields the
+// transaction filter has always searched; it is written with the transaction and on status changes, so later
+// renames of a user, supplier, product or category are only picked up when the document is rebuilt.
+public final class TransactionSearchDocument {
+
+    // InnoDB does not index words shorter than innodb_ft_min_token_size (3 by default)
+    private static final int MIN_TOKEN_SIZE = 3;
+
+    private TransactionSearchDocument() {
+    }
+
+    public static String of(Transaction transaction) {
+        StringJoiner document = new StringJoiner(" ");
+        add(document, transaction.getDescription(), transaction.getNote(),
+                Objects.toString(transaction.getStatus(), null),
+                Objects.toString(transaction.getTransactionType(), null));
+
+        User user = transaction.getUser();
+        if (user != null) {
+            add(document, user.getName(), user.getEmail(), user.getPhoneNumber());
+        }
+
+        Supplier supplier = transaction.getSupplier();
+        if (supplier != null) {
+            add(document, supplier.getName(), supplier.getContactInfo());
+        }
+
+        if (transaction.getLines() != null) {
+            for (TransactionLine line : transaction.getLines()) {
+                Product product = line.getProduct();
+                add(document, product.getName(), product.getSku(), product.getDescription());
+                if (product.getCategory() != null) {
+                    add(document, product.getCategory().getName());
+                }
+            }
+        }
+        return document.toString().toLowerCase(Locale.ROOT);
+    }
+
+    // Turns the user's filter into a boolean mode query where every word must match as a prefix, or returns
+    // null when a word is too short to be in the index
+    public static String toBooleanQuery(String searchValue) {
+        String[] tokens = searchValue.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}_]+");
+        if (Arrays.stream(tokens).anyMatch(token -> !token.isEmpty() && token.length() < MIN_TOKEN_SIZE)) {
+            return null;
+        }
+        String query = Arrays.stream(tokens)
+                .filter(token -> !token.isEmpty())
+                .map(token -> "+" + token + "*")
+                .collect(Collectors.joining(" "));
+        return query.isEmpty() ? null : query;
+    }
+
+    private static void add(StringJoiner document, String... values) {
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                document.add(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.phegondev.InventoryMgtSystem.benchmarks;
+
+import com.phegondev.InventoryMgtSystem.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of authenticating a request: a cache size of 0 verifies the signature and decodes the claims every time
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    @Param({"10000", "0"})
+    private int claimsCacheSize;
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "secreteJwtString", "benchmark-secret-benchmark-secret-benchmark-secret");
+        ReflectionTestUtils.setField(jwtUtils, "claimsCacheSize", claimsCacheSize);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        token = jwtUtils.generateToken("clerk@example.com");
+    }
+
+    @Benchmark
+    public Claims parseVerifiedClaims() {
+        return jwtUtils.parseVerifiedClaims(token);
+    }
+}
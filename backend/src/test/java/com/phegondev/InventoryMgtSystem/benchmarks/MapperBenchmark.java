@@ -0,0 +1,84 @@
+package com.phegondev.InventoryMgtSystem.benchmarks;
+
+import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.mappers.ProductMapper;
+import com.phegondev.InventoryMgtSystem.mappers.SupplierMapper;
+import com.phegondev.InventoryMgtSystem.mappers.TransactionMapper;
+import com.phegondev.InventoryMgtSystem.mappers.UserMapper;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.TransactionLine;
+import com.phegondev.InventoryMgtSystem.models.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One page of the product and transaction lists, and one transaction detail, through the hand-written mappers
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int PAGE_SIZE = 1_000;
+
+    private final ProductMapper productMapper = new ProductMapper();
+    private final TransactionMapper transactionMapper =
+            new TransactionMapper(productMapper, new SupplierMapper(), new UserMapper());
+
+    private List<Product> products;
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        Category category = Category.builder().id(1L).name("Tools").build();
+        User user = User.builder().id(1L).name("Clerk").email("clerk@example.com").role(UserRole.MANAGER).build();
+        Supplier supplier = Supplier.builder().id(1L).name("Acme").contactInfo("acme@example.com").build();
+
+        products = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            products.add(Product.builder().id(id).name("Product " + id).sku("SKU-" + id).price(BigDecimal.TEN)
+                    .stockQuantity(100).imageHash("hash" + id).version(1L).category(category).build());
+        }
+
+        transactions = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            Transaction transaction = Transaction.builder().id(id).totalProducts(3).totalPrice(new BigDecimal("30"))
+                    .transactionType(TransactionType.SALE).status(TransactionStatus.COMPLETED)
+                    .user(user).supplier(supplier).build();
+            List<TransactionLine> lines = new ArrayList<>();
+            for (int line = 0; line < 3; line++) {
+                lines.add(TransactionLine.builder().transaction(transaction)
+                        .product(products.get((int) ((id + line) % PAGE_SIZE))).quantity(1).unitPrice(BigDecimal.TEN).build());
+            }
+            transaction.setLines(lines);
+            transactions.add(transaction);
+        }
+    }
+
+    @Benchmark
+    public List<ProductDTO> productPage() {
+        return productMapper.toDTOs(products);
+    }
+
+    @Benchmark
+    public List<TransactionDTO> transactionPage() {
+        return transactionMapper.toDTOs(transactions);
+    }
+
+    @Benchmark
+    public TransactionDTO transactionDetail() {
+        return transactionMapper.toDetailDTO(transactions.get(0));
+    }
+}
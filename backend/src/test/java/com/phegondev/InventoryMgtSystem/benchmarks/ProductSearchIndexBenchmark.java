@@ -0,0 +1,84 @@
+package com.phegondev.InventoryMgtSystem.benchmarks;
+
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.services.impl.ProductSearchIndexImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Startup rebuild of the in-memory search index from the catalogue, and searches against the built index
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProductSearchIndexBenchmark {
+
+    private static final String[] WORDS = {"cordless", "drill", "claw", "hammer", "steel", "socket", "wrench",
+            "torch", "ladder", "sander", "blade", "clamp", "level", "chisel", "pliers", "saw"};
+
+    @Param({"100000"})
+    private int productCount;
+
+    private ProductRepository productRepository;
+    private ProductSearchIndexImpl builtIndex;
+
+    @Setup
+    public void setUp() {
+        List<ProductRepository.SearchFields> catalogue = new ArrayList<>(productCount);
+        for (long id = 1; id <= productCount; id++) {
+            catalogue.add(fields(id, WORDS[(int) (id % WORDS.length)] + " " + WORDS[(int) (id / WORDS.length % WORDS.length)]
+                    + " model " + id));
+        }
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findSearchFieldsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            int size = invocation.<Pageable>getArgument(1).getPageSize();
+            return catalogue.subList((int) Math.min(afterId, productCount), (int) Math.min(afterId + size, productCount));
+        });
+
+        builtIndex = rebuild();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ProductSearchIndexImpl rebuildIndex() {
+        return rebuild();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Long> searchPrefix() {
+        return builtIndex.search("cordless dri", 20);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Long> searchMisspelled() {
+        return builtIndex.search("hamer wrnch", 20);
+    }
+
+    private ProductSearchIndexImpl rebuild() {
+        ProductSearchIndexImpl index = new ProductSearchIndexImpl(productRepository);
+        ReflectionTestUtils.invokeMethod(index, "rebuild");
+        return index;
+    }
+
+    private static ProductRepository.SearchFields fields(Long id, String name) {
+        return new ProductRepository.SearchFields() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+            public String getSku() { return "SKU-" + id; }
+            public String getDescription() { return null; }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.phegondev.InventoryMgtSystem.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+// The guarded stock decrease of a basket, one statement per product as the sale path runs it, against the same
+// statements sent as one JDBC batch. H2 runs in process, so this is the statement overhead without the network.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockUpdateBenchmark {
+
+    private static final String DECREASE = "UPDATE products SET stock_quantity = stock_quantity - ? " +
+            "WHERE id = ? AND stock_quantity - escrow_held >= ?";
+
+    @Param({"1", "10", "50"})
+    private int basketSize;
+
+    private Connection connection;
+    private PreparedStatement decrease;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:stock;MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, stock_quantity INT NOT NULL, " +
+                    "escrow_held INT NOT NULL DEFAULT 0)");
+            for (int id = 1; id <= 50; id++) {
+                statement.execute("INSERT INTO products (id, stock_quantity) VALUES (" + id + ", 1000000000)");
+            }
+        }
+        connection.setAutoCommit(false);
+        decrease = connection.prepareStatement(DECREASE);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int statementPerProduct() throws SQLException {
+        int updated = 0;
+        for (long id = 1; id <= basketSize; id++) {
+            bind(id);
+            updated += decrease.executeUpdate();
+        }
+        connection.commit();
+        return updated;
+    }
+
+    @Benchmark
+    public int batched() throws SQLException {
+        for (long id = 1; id <= basketSize; id++) {
+            bind(id);
+            decrease.addBatch();
+        }
+        int updated = decrease.executeBatch().length;
+        connection.commit();
+        return updated;
+    }
+
+    private void bind(long id) throws SQLException {
+        decrease.setInt(1, 1);
+        decrease.setLong(2, id);
+        decrease.setInt(3, 1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.phegondev.InventoryMgtSystem.config;
+
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Legacy baskets moved the request quantity for every product, and their lines must add up to the recorded total
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TransactionLineMigration.class)
+class TransactionLineMigrationTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionLineMigration transactionLineMigration;
+
+    @Test
+    void everyProductOfALegacyBasketGetsTheBasketQuantity() {
+        Category category = testEntityManager.persist(Category.builder().name("Tools").build());
+        Product hammer = product(category, "Hammer", "10.00");
+        Product drill = product(category, "Drill", "30.00");
+        // sold at 8 and 24 back then: 3 * 8 + 3 * 24
+        Transaction basket = transaction(3, "96.00");
+        Transaction single = transaction(4, "36.00");
+        testEntityManager.flush();
+
+        jdbcTemplate.execute("CREATE TABLE transaction_product (transaction_id BIGINT, product_id BIGINT)");
+        jdbcTemplate.update("INSERT INTO transaction_product VALUES (?, ?), (?, ?), (?, ?)",
+                basket.getId(), hammer.getId(), basket.getId(), drill.getId(), single.getId(), hammer.getId());
+
+        transactionLineMigration.migrate();
+        transactionLineMigration.migrate();
+
+        List<Map<String, Object>> lines = jdbcTemplate.queryForList(
+                "SELECT transaction_id, product_id, quantity, unit_price FROM transaction_line ORDER BY transaction_id, product_id");
+        assertThat(lines).hasSize(3);
+        assertLine(lines.get(0), basket, hammer, 3, "8.00");
+        assertLine(lines.get(1), basket, drill, 3, "24.00");
+        assertLine(lines.get(2), single, hammer, 4, "9.00");
+    }
+
+    private Product product(Category category, String name, String price) {
+        return testEntityManager.persist(Product.builder().name(name).sku(name.toUpperCase())
+                .price(new BigDecimal(price)).stockQuantity(100).category(category).build());
+    }
+
+    private Transaction transaction(int totalProducts, String totalPrice) {
+        return testEntityManager.persist(Transaction.builder().totalProducts(totalProducts)
+                .totalPrice(new BigDecimal(totalPrice)).transactionType(TransactionType.SALE)
+                .status(TransactionStatus.COMPLETED).build());
+    }
+
+    private static void assertLine(Map<String, Object> line, Transaction transaction, Product product, int quantity,
+                                   String unitPrice) {
+        assertThat(((Number) line.get("transaction_id")).longValue()).isEqualTo(transaction.getId());
+        assertThat(((Number) line.get("product_id")).longValue()).isEqualTo(product.getId());
+        assertThat(((Number) line.get("quantity")).intValue()).isEqualTo(quantity);
+        assertThat((BigDecimal) line.get("unit_price")).isEqualByComparingTo(unitPrice);
+    }
+}
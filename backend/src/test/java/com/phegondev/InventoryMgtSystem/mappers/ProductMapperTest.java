@@ -0,0 +1,76 @@
+package com.phegondev.InventoryMgtSystem.mappers;
+
+import com.phegondev.InventoryMgtSystem.dtos.CategoryDTO;
+import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.enums.ImageStatus;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductMapperTest {
+
+    private final ProductMapper productMapper = new ProductMapper();
+    private final CategoryMapper categoryMapper = new CategoryMapper(productMapper);
+
+    @Test
+    void mapsEveryProductField() {
+        LocalDateTime expiry = LocalDateTime.of(2027, 1, 31, 0, 0);
+        Product product = Product.builder().id(7L).name("Claw Hammer").sku("HM-200").price(new BigDecimal("24.90"))
+                .stockQuantity(12).description("Steel").expiryDate(expiry).imageUrl("https://cdn/hammer.jpg")
+                .imageStatus(ImageStatus.READY).imageHash("abc123").escrowEnabled(true).version(4L)
+                .category(Category.builder().id(3L).name("Tools").build()).build();
+
+        ProductDTO productDTO = productMapper.toDTO(product);
+
+        assertThat(productDTO.getId()).isEqualTo(7L);
+        assertThat(productDTO.getProductId()).isEqualTo(7L);
+        assertThat(productDTO.getCategoryId()).isEqualTo(3L);
+        assertThat(productDTO.getName()).isEqualTo("Claw Hammer");
+        assertThat(productDTO.getSku()).isEqualTo("HM-200");
+        assertThat(productDTO.getPrice()).isEqualByComparingTo("24.90");
+        assertThat(productDTO.getStockQuantity()).isEqualTo(12);
+        assertThat(productDTO.getDescription()).isEqualTo("Steel");
+        assertThat(productDTO.getExpiryDate()).isEqualTo(expiry);
+        assertThat(productDTO.getImageUrl()).isEqualTo("https://cdn/hammer.jpg");
+        assertThat(productDTO.getImageStatus()).isEqualTo(ImageStatus.READY);
+        assertThat(productDTO.getThumbnailSmallUrl()).isEqualTo("/api/images/abc123/small");
+        assertThat(productDTO.getThumbnailMediumUrl()).isEqualTo("/api/images/abc123/medium");
+        assertThat(productDTO.getThumbnailLargeUrl()).isEqualTo("/api/images/abc123/large");
+        assertThat(productDTO.getEscrowEnabled()).isTrue();
+        assertThat(productDTO.getCreatedAt()).isEqualTo(product.getCreatedAt());
+        assertThat(productDTO.getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    void leavesOutWhatTheProductDoesNotHave() {
+        ProductDTO productDTO = productMapper.toDTO(Product.builder().id(7L).name("Claw Hammer").build());
+
+        assertThat(productDTO.getCategoryId()).isNull();
+        assertThat(productDTO.getThumbnailSmallUrl()).isNull();
+        assertThat(productDTO.getEscrowEnabled()).isFalse();
+        assertThat(productMapper.toDTO(null)).isNull();
+    }
+
+    @Test
+    void categoryCarriesItsProductsOnlyWhenAsked() {
+        Category category = Category.builder().id(3L).name("Tools").build();
+        category.setProducts(List.of(Product.builder().id(7L).name("Claw Hammer").category(category).build()));
+
+        CategoryDTO alone = categoryMapper.toDTO(category);
+        assertThat(alone.getName()).isEqualTo("Tools");
+        assertThat(alone.getProducts()).isNull();
+
+        CategoryDTO withProducts = categoryMapper.toDTOWithProducts(category);
+        assertThat(withProducts.getProducts()).extracting(ProductDTO::getName).containsExactly("Claw Hammer");
+
+        Category entity = categoryMapper.toEntity(alone);
+        assertThat(entity.getId()).isEqualTo(3L);
+        assertThat(entity.getName()).isEqualTo("Tools");
+    }
+}
@@ -0,0 +1,90 @@
+package com.phegondev.InventoryMgtSystem.mappers;
+
+import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionLineDTO;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.TransactionLine;
+import com.phegondev.InventoryMgtSystem.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TransactionMapperTest {
+
+    private final TransactionMapper transactionMapper =
+            new TransactionMapper(new ProductMapper(), new SupplierMapper(), new UserMapper());
+
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        Product hammer = Product.builder().id(7L).name("Claw Hammer").price(BigDecimal.TEN).build();
+        Product drill = Product.builder().id(8L).name("Cordless Drill").price(new BigDecimal("80")).build();
+        transaction = Transaction.builder().id(100L).totalProducts(5).totalPrice(new BigDecimal("100"))
+                .transactionType(TransactionType.SALE).status(TransactionStatus.COMPLETED)
+                .description("counter sale").note("paid cash")
+                .user(User.builder().id(1L).name("Clerk").email("clerk@example.com").password("hash")
+                        .phoneNumber("555").role(UserRole.MANAGER).build())
+                .supplier(Supplier.builder().id(2L).name("Acme").contactInfo("acme@example.com").address("Main St").build())
+                .build();
+        transaction.setLines(List.of(
+                TransactionLine.builder().transaction(transaction).product(hammer).quantity(2).unitPrice(BigDecimal.TEN).build(),
+                TransactionLine.builder().transaction(transaction).product(drill).quantity(1).unitPrice(new BigDecimal("80")).build(),
+                TransactionLine.builder().transaction(transaction).product(hammer).quantity(0).unitPrice(BigDecimal.ZERO).build()));
+    }
+
+    @Test
+    void listItemCarriesTheLinesOnly() {
+        TransactionDTO transactionDTO = transactionMapper.toDTO(transaction);
+
+        assertThat(transactionDTO.getId()).isEqualTo(100L);
+        assertThat(transactionDTO.getTotalProducts()).isEqualTo(5);
+        assertThat(transactionDTO.getTotalPrice()).isEqualByComparingTo("100");
+        assertThat(transactionDTO.getTransactionType()).isEqualTo(TransactionType.SALE);
+        assertThat(transactionDTO.getStatus()).isEqualTo(TransactionStatus.COMPLETED);
+        assertThat(transactionDTO.getDescription()).isEqualTo("counter sale");
+        assertThat(transactionDTO.getNote()).isEqualTo("paid cash");
+        assertThat(transactionDTO.getLines()).extracting(TransactionLineDTO::getProductId, TransactionLineDTO::getProductName,
+                TransactionLineDTO::getQuantity).containsExactly(
+                tuple(7L, "Claw Hammer", 2),
+                tuple(8L, "Cordless Drill", 1),
+                tuple(7L, "Claw Hammer", 0));
+        assertThat(transactionDTO.getUser()).isNull();
+        assertThat(transactionDTO.getSupplier()).isNull();
+        assertThat(transactionDTO.getProducts()).isNull();
+    }
+
+    @Test
+    void detailAddsUserSupplierAndDistinctProducts() {
+        TransactionDTO transactionDTO = transactionMapper.toDetailDTO(transaction);
+
+        assertThat(transactionDTO.getUser().getEmail()).isEqualTo("clerk@example.com");
+        assertThat(transactionDTO.getUser().getRole()).isEqualTo(UserRole.MANAGER);
+        assertThat(transactionDTO.getUser().getTransactions()).isNull();
+        assertThat(transactionDTO.getSupplier().getName()).isEqualTo("Acme");
+        assertThat(transactionDTO.getSupplier().getAddress()).isEqualTo("Main St");
+        assertThat(transactionDTO.getProducts()).extracting(ProductDTO::getId).containsExactlyInAnyOrder(7L, 8L);
+    }
+
+    @Test
+    void detailWithoutUserOrSupplier() {
+        transaction.setUser(null);
+        transaction.setSupplier(null);
+
+        TransactionDTO transactionDTO = transactionMapper.toDetailDTO(transaction);
+
+        assertThat(transactionDTO.getUser()).isNull();
+        assertThat(transactionDTO.getSupplier()).isNull();
+    }
+}
@@ -0,0 +1,135 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.enums.InventoryCounterName;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The aggregate upserts run on every transaction write; they must not evict the cached products, categories and
+// suppliers, which a native statement without query spaces does. Every step commits, as it does in the application,
+// since the cache is only written on commit.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:upserts;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AggregateUpsertCacheTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private InventoryCounterRepository inventoryCounterRepository;
+
+    @Autowired
+    private TransactionMonthlyRollupRepository transactionMonthlyRollupRepository;
+
+    @Autowired
+    private TransactionSeriesBucketRepository transactionSeriesBucketRepository;
+
+    private TransactionTemplate transactionTemplate;
+    private Cache cache;
+    private Product product;
+    private Supplier supplier;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        cache = entityManagerFactory.getCache();
+
+        String suffix = UUID.randomUUID().toString();
+        transactionTemplate.executeWithoutResult(status -> {
+            Category category = Category.builder().name("Tools").build();
+            entityManager.persist(category);
+            product = Product.builder().name("Hammer").sku("HAM-" + suffix).price(BigDecimal.TEN)
+                    .stockQuantity(10).category(category).build();
+            entityManager.persist(product);
+            supplier = Supplier.builder().name("Acme").contactInfo("acme@example.com").build();
+            entityManager.persist(supplier);
+        });
+
+        cache.evictAll();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.find(Product.class, product.getId());
+            entityManager.find(Supplier.class, supplier.getId());
+        });
+        assertCatalogCached();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            inventoryCounterRepository.deleteAllInBatch();
+            transactionMonthlyRollupRepository.deleteAllInBatch();
+            transactionSeriesBucketRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void counterUpsertKeepsCatalogCached() {
+        transactionTemplate.executeWithoutResult(status -> {
+            inventoryCounterRepository.add(InventoryCounterName.SALE_TRANSACTIONS.name(), BigDecimal.ONE);
+            inventoryCounterRepository.add(InventoryCounterName.SALE_TRANSACTIONS.name(), BigDecimal.ONE);
+        });
+
+        assertThat(inventoryCounterRepository.findById(InventoryCounterName.SALE_TRANSACTIONS).orElseThrow()
+                .getValue()).isEqualByComparingTo("2");
+        assertCatalogCached();
+    }
+
+    @Test
+    void rollupUpsertKeepsCatalogCached() {
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionMonthlyRollupRepository.addToBucket(2026, 10, "SALE", "COMPLETED", 1, 3, new BigDecimal("30"));
+            transactionMonthlyRollupRepository.addToBucket(2026, 10, "SALE", "COMPLETED", 1, 2, new BigDecimal("20"));
+        });
+
+        assertThat(transactionMonthlyRollupRepository.findByYearAndMonth(2026, 10)).singleElement()
+                .satisfies(rollup -> assertThat(rollup.getTotalProducts()).isEqualTo(5L));
+        assertCatalogCached();
+    }
+
+    @Test
+    void seriesUpsertKeepsCatalogCached() {
+        transactionTemplate.executeWithoutResult(status -> transactionSeriesBucketRepository.addToBucket(product.getId(),
+                LocalDate.of(2026, 10, 18), "SALE", "COMPLETED", 1, 3, new BigDecimal("30")));
+
+        assertThat(transactionSeriesBucketRepository.count()).isEqualTo(1);
+        assertCatalogCached();
+    }
+
+    private void assertCatalogCached() {
+        assertThat(cache.contains(Product.class, product.getId())).isTrue();
+        assertThat(cache.contains(Category.class, product.getCategory().getId())).isTrue();
+        assertThat(cache.contains(Supplier.class, supplier.getId())).isTrue();
+    }
+}
@@ -0,0 +1,133 @@
+package com.phegondev.InventoryMgtSystem.repositories;
+
+import com.phegondev.InventoryMgtSystem.dtos.TransactionDTO;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.enums.UserRole;
+import com.phegondev.InventoryMgtSystem.mappers.ProductMapper;
+import com.phegondev.InventoryMgtSystem.mappers.SupplierMapper;
+import com.phegondev.InventoryMgtSystem.mappers.TransactionMapper;
+import com.phegondev.InventoryMgtSystem.mappers.UserMapper;
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.TransactionLine;
+import com.phegondev.InventoryMgtSystem.models.User;
+import com.phegondev.InventoryMgtSystem.specification.TransactionFilter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The list and detail views must cost a fixed number of statements, whatever the page holds
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({TransactionMapper.class, ProductMapper.class, SupplierMapper.class, UserMapper.class})
+class TransactionListRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionMapper transactionMapper;
+
+    private Statistics statistics;
+    private Long userId;
+    private Long detailTransactionId;
+
+    @BeforeEach
+    void setUp() {
+        User user = testEntityManager.persist(User.builder().name("Clerk").email("clerk@example.com")
+                .password("secret").phoneNumber("555").role(UserRole.MANAGER).build());
+        userId = user.getId();
+        Supplier supplier = testEntityManager.persist(Supplier.builder().name("Acme").contactInfo("acme@example.com").build());
+        Category category = testEntityManager.persist(Category.builder().name("Tools").build());
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            products.add(testEntityManager.persist(Product.builder().name("Product " + i).sku("SKU-" + i)
+                    .price(BigDecimal.TEN).stockQuantity(100).category(category).build()));
+        }
+
+        for (int i = 0; i < 30; i++) {
+            Transaction transaction = Transaction.builder().totalProducts(6).totalPrice(new BigDecimal("60"))
+                    .transactionType(TransactionType.SALE).status(TransactionStatus.COMPLETED)
+                    .description("sale " + i).user(user).supplier(supplier).build();
+            List<TransactionLine> lines = new ArrayList<>();
+            for (Product product : products) {
+                lines.add(TransactionLine.builder().transaction(transaction).product(product)
+                        .quantity(2).unitPrice(BigDecimal.TEN).build());
+            }
+            transaction.setLines(lines);
+            detailTransactionId = testEntityManager.persist(transaction).getId();
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void keysetPageIsOneQuery() {
+        List<TransactionDTO> page = transactionRepository.findListItems(TransactionFilter.byUser(userId)
+                .and(TransactionFilter.idBefore(Long.MAX_VALUE)), Sort.by(Sort.Direction.DESC, "id"), 11);
+
+        assertThat(page).hasSize(11);
+        assertThat(page.get(0).getId()).isGreaterThan(page.get(10).getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void offsetPageIsOneQueryPlusTheCount() {
+        Page<TransactionDTO> firstOfMany = transactionRepository.findListItems(TransactionFilter.byFilter(null),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")));
+
+        assertThat(firstOfMany.getContent()).hasSize(10);
+        assertThat(firstOfMany.getTotalElements()).isEqualTo(30);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        statistics.clear();
+        Page<TransactionDTO> onlyPage = transactionRepository.findListItems(TransactionFilter.byFilter(null),
+                PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "id")));
+
+        // the page is not full, so it tells the total and the count query is skipped
+        assertThat(onlyPage.getTotalElements()).isEqualTo(30);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void detailViewIsOneQuery() {
+        Transaction transaction = transactionRepository.findDetailById(detailTransactionId).orElseThrow();
+        TransactionDTO transactionDTO = transactionMapper.toDetailDTO(transaction);
+
+        assertThat(transactionDTO.getUser().getEmail()).isEqualTo("clerk@example.com");
+        assertThat(transactionDTO.getSupplier().getName()).isEqualTo("Acme");
+        assertThat(transactionDTO.getLines()).hasSize(3);
+        assertThat(transactionDTO.getProducts()).extracting(product -> product.getCategoryId()).containsOnly(
+                transaction.getLines().get(0).getProduct().getCategory().getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.phegondev.InventoryMgtSystem.security;
+
+import com.phegondev.InventoryMgtSystem.exceptions.LoginThrottledException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class LoginThrottleTest {
+
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        loginThrottle = throttle(3, 1, 5, 1, 100);
+    }
+
+    @Test
+    void emailBucketEmptiesWhateverTheAddressOrCase() {
+        loginThrottle.acquire("clerk@example.com", "10.0.0.1");
+        loginThrottle.acquire("Clerk@Example.com ", "10.0.0.2");
+        loginThrottle.acquire("CLERK@example.com", "10.0.0.3");
+
+        LoginThrottledException e = catchThrowableOfType(
+                () -> loginThrottle.acquire("clerk@example.com", "10.0.0.4"), LoginThrottledException.class);
+        // one token a minute
+        assertThat(e.getRetryAfterSeconds()).isBetween(59L, 60L);
+        loginThrottle.acquire("manager@example.com", "10.0.0.4");
+    }
+
+    @Test
+    void addressBucketEmptiesAcrossEmails() {
+        for (int i = 0; i < 5; i++) loginThrottle.acquire("user" + i + "@example.com", "10.0.0.1");
+
+        assertThatThrownBy(() -> loginThrottle.acquire("other@example.com", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class);
+        loginThrottle.acquire("other@example.com", "10.0.0.2");
+    }
+
+    @Test
+    void rejectedAttemptTakesNoToken() {
+        for (int i = 0; i < 5; i++) loginThrottle.acquire("user" + i + "@example.com", "10.0.0.1");
+        assertThatThrownBy(() -> loginThrottle.acquire("clerk@example.com", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class);
+
+        // the email bucket kept its tokens while the address was throttled
+        for (int i = 0; i < 3; i++) loginThrottle.acquire("clerk@example.com", "10.0.0." + (i + 2));
+    }
+
+    @Test
+    void bucketsRefillOverTime() throws InterruptedException {
+        // a token every 10 ms
+        loginThrottle = throttle(1, 6_000, 100, 6_000, 100);
+        loginThrottle.acquire("clerk@example.com", "10.0.0.1");
+        assertThatThrownBy(() -> loginThrottle.acquire("clerk@example.com", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class);
+
+        Thread.sleep(50);
+        loginThrottle.acquire("clerk@example.com", "10.0.0.1");
+    }
+
+    @Test
+    void keepsAtMostSizeBuckets() {
+        loginThrottle = throttle(3, 1, 5, 1, 10);
+        for (int i = 0; i < 100; i++) loginThrottle.acquire("user" + i + "@example.com", "10.0.1." + i);
+
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(loginThrottle, "buckets")).hasSize(10);
+    }
+
+    private static LoginThrottle throttle(int emailCapacity, double emailRefillPerMinute, int ipCapacity,
+                                          double ipRefillPerMinute, int size) {
+        LoginThrottle loginThrottle = new LoginThrottle();
+        ReflectionTestUtils.setField(loginThrottle, "emailCapacity", emailCapacity);
+        ReflectionTestUtils.setField(loginThrottle, "emailRefillPerMinute", emailRefillPerMinute);
+        ReflectionTestUtils.setField(loginThrottle, "ipCapacity", ipCapacity);
+        ReflectionTestUtils.setField(loginThrottle, "ipRefillPerMinute", ipRefillPerMinute);
+        ReflectionTestUtils.setField(loginThrottle, "size", size);
+        ReflectionTestUtils.invokeMethod(loginThrottle, "init");
+        return loginThrottle;
+    }
+}
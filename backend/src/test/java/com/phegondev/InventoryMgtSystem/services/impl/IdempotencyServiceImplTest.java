@@ -0,0 +1,83 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.dtos.Response;
+import com.phegondev.InventoryMgtSystem.models.IdempotencyRecord;
+import com.phegondev.InventoryMgtSystem.repositories.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Every call commits on its own, as it does behind the controllers
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(IdempotencyServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyServiceImplTest {
+
+    @Autowired
+    private IdempotencyServiceImpl idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final AtomicInteger writes = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRecordRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void sameKeyIsReplayed() {
+        assertThat(idempotencyService.execute("key-1", "sell", write()).getMessage()).isEqualTo("write 1");
+        assertThat(idempotencyService.execute("key-1", "sell", write()).getMessage()).isEqualTo("write 1");
+        assertThat(writes).hasValue(1);
+    }
+
+    @Test
+    void failedCommitIsNotReplayed() {
+        Supplier<Response> failingCommit = () -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    throw new IllegalStateException("commit failed");
+                }
+            });
+            return write().get();
+        };
+        assertThatThrownBy(() -> idempotencyService.execute("key-2", "sell", failingCommit))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(idempotencyService.execute("key-2", "sell", write()).getMessage()).isEqualTo("write 2");
+        assertThat(writes).hasValue(2);
+    }
+
+    @Test
+    void expiredKeyCanBeUsedAgainBeforeThePurge() {
+        idempotencyService.execute("key-3", "sell", write());
+        IdempotencyRecord record = idempotencyRecordRepository.findAll().get(0);
+        record.setCreatedAt(record.getCreatedAt().minusDays(2));
+        idempotencyRecordRepository.save(record);
+        ((Map<?, ?>) ReflectionTestUtils.getField(idempotencyService, "recentRecords")).clear();
+
+        assertThat(idempotencyService.execute("key-3", "sell", write()).getMessage()).isEqualTo("write 2");
+        assertThat(idempotencyRecordRepository.count()).isEqualTo(1);
+    }
+
+    private Supplier<Response> write() {
+        return () -> Response.builder().status(200).message("write " + writes.incrementAndGet()).build();
+    }
+}
@@ -0,0 +1,242 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.dtos.ProductFacetQuery;
+import com.phegondev.InventoryMgtSystem.dtos.ProductFacetsDTO;
+import com.phegondev.InventoryMgtSystem.enums.ExpiryWindow;
+import com.phegondev.InventoryMgtSystem.enums.StockStatus;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// The facet counts are checked against a plain scan of the same products, for narrow selections (walked product by
+// product) and broad ones (bitmap intersections) alike.
+class ProductFacetIndexImplTest {
+
+    private static final BigDecimal[] PRICE_BANDS = {
+            new BigDecimal("10"), new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("500"), new BigDecimal("1000")
+    };
+    private static final List<String> PRICE_BAND_LABELS = List.of("0-10", "10-50", "50-100", "100-500", "500-1000", "1000+");
+
+    private final TreeMap<Long, Row> table = new TreeMap<>();
+    private ProductFacetIndexImpl index;
+    private Runnable beforeBatchIsReturned = () -> { };
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findFacetFieldsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            List<ProductRepository.FacetFields> batch = table.tailMap(afterId, false).values().stream()
+                    .limit(pageable.getPageSize()).map(ProductRepository.FacetFields.class::cast).toList();
+            beforeBatchIsReturned.run();
+            return batch;
+        });
+        when(productRepository.findFacetFieldsById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(table.get((Long) invocation.getArgument(0))));
+
+        index = new ProductFacetIndexImpl(productRepository);
+        ReflectionTestUtils.setField(index, "lowStockThreshold", 5);
+        ReflectionTestUtils.setField(index, "priceBandBounds", PRICE_BANDS);
+        ReflectionTestUtils.invokeMethod(index, "init");
+    }
+
+    @Test
+    void countsMatchAScanOfTheProducts() {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        for (long id = 1; id <= 3_000; id++) {
+            Long categoryId = random.nextInt(20) == 0 ? null : (long) random.nextInt(12) + 1;
+            BigDecimal price = BigDecimal.valueOf(random.nextInt(150_000), 2);
+            LocalDateTime expiry = random.nextInt(3) == 0 ? null
+                    : today.plusDays(random.nextInt(90) - 20).atTime(12, 0);
+            table.put(id, new Row(id, categoryId, price, random.nextInt(40), expiry));
+        }
+        rebuild();
+
+        for (int q = 0; q < 300; q++) {
+            ProductFacetQuery facetQuery = new ProductFacetQuery();
+            if (random.nextBoolean()) facetQuery.setCategoryId(pick(random, List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L)));
+            if (random.nextBoolean()) facetQuery.setPriceBand(pick(random, PRICE_BAND_LABELS));
+            if (random.nextBoolean()) facetQuery.setStockStatus(pick(random, List.of(StockStatus.values())));
+            if (random.nextBoolean()) facetQuery.setExpiryWindow(pick(random, List.of(ExpiryWindow.values())));
+            facetQuery.setLimit(random.nextInt(50));
+
+            assertThat(index.facets(facetQuery)).as("query %s", facetQuery).isEqualTo(scan(facetQuery, today));
+        }
+    }
+
+    @Test
+    void stockDeltasFollowTheStatus() {
+        table.put(1L, new Row(1L, 1L, BigDecimal.TEN, 6, null));
+        rebuild();
+
+        index.stockChanged(1L, -1);
+        assertThat(stockCounts()).containsEntry(StockStatus.LOW_STOCK, 1L).containsEntry(StockStatus.IN_STOCK, 0L);
+        index.stockChanged(1L, -5);
+        assertThat(stockCounts()).containsEntry(StockStatus.OUT_OF_STOCK, 1L).containsEntry(StockStatus.LOW_STOCK, 0L);
+    }
+
+    @Test
+    void deltaCommittedDuringTheRebuildIsReplayed() {
+        table.put(1L, new Row(1L, 1L, BigDecimal.TEN, 20, null));
+        // the sale commits after the batch was read, before it is indexed
+        beforeBatchIsReturned = () -> {
+            beforeBatchIsReturned = () -> { };
+            index.stockChanged(1L, -20);
+        };
+        rebuild();
+
+        assertThat(stockCounts()).containsEntry(StockStatus.OUT_OF_STOCK, 1L).containsEntry(StockStatus.IN_STOCK, 0L);
+    }
+
+    @Test
+    void reconcileRepairsDriftedAndDeletedProducts() {
+        table.put(1L, new Row(1L, 1L, BigDecimal.TEN, 20, null));
+        table.put(2L, new Row(2L, 2L, BigDecimal.TEN, 20, null));
+        rebuild();
+
+        // a lost delta and a lost removal
+        table.put(1L, new Row(1L, 1L, BigDecimal.TEN, 0, null));
+        table.remove(2L);
+        index.reconcile();
+
+        ProductFacetsDTO facets = index.facets(new ProductFacetQuery());
+        assertThat(facets.getProductIds()).containsExactly(1L);
+        assertThat(facets.getStockStatusCounts()).containsEntry(StockStatus.OUT_OF_STOCK, 1L)
+                .containsEntry(StockStatus.IN_STOCK, 0L);
+    }
+
+    @Test
+    void refreshReadsTheCommittedRow() {
+        table.put(1L, new Row(1L, 1L, BigDecimal.TEN, 20, null));
+        rebuild();
+
+        table.put(1L, new Row(1L, 3L, new BigDecimal("75"), 3, null));
+        index.refresh(1L);
+
+        ProductFacetsDTO facets = index.facets(new ProductFacetQuery());
+        assertThat(facets.getCategoryCounts()).containsExactly(Map.entry(3L, 1L));
+        assertThat(facets.getPriceBandCounts()).containsEntry("50-100", 1L);
+        assertThat(facets.getStockStatusCounts()).containsEntry(StockStatus.LOW_STOCK, 1L);
+    }
+
+    private void rebuild() {
+        ReflectionTestUtils.invokeMethod(index, "rebuild");
+    }
+
+    private Map<StockStatus, Long> stockCounts() {
+        return index.facets(new ProductFacetQuery()).getStockStatusCounts();
+    }
+
+    private ProductFacetsDTO scan(ProductFacetQuery facetQuery, LocalDate today) {
+        List<Function<Row, Object>> values = List.of(
+                Row::categoryId, row -> priceBand(row.price()), row -> stockStatus(row.stockQuantity()),
+                row -> expiryWindow(row.expiryDate(), today));
+        List<List<?>> selections = new ArrayList<>();
+        selections.add(facetQuery.getCategoryId());
+        selections.add(facetQuery.getPriceBand());
+        selections.add(facetQuery.getStockStatus());
+        selections.add(facetQuery.getExpiryWindow());
+
+        List<Map<Object, Long>> counts = List.of(new TreeMap<>(), new LinkedHashMap<>(), new LinkedHashMap<>(),
+                new LinkedHashMap<>());
+        PRICE_BAND_LABELS.forEach(label -> counts.get(1).put(label, 0L));
+        for (StockStatus status : StockStatus.values()) counts.get(2).put(status, 0L);
+        for (ExpiryWindow window : ExpiryWindow.values()) counts.get(3).put(window, 0L);
+
+        List<Long> ids = new ArrayList<>();
+        long matches = 0;
+        for (Row row : table.descendingMap().values()) {
+            int missed = 0;
+            int missedFacet = -1;
+            for (int facet = 0; facet < 4; facet++) {
+                List<?> selection = selections.get(facet);
+                if (selection != null && !selection.contains(values.get(facet).apply(row))) {
+                    missed++;
+                    missedFacet = facet;
+                }
+            }
+            for (int facet = 0; facet < 4; facet++) {
+                Object value = values.get(facet).apply(row);
+                if (value != null && (missed == 0 || (missed == 1 && missedFacet == facet))) {
+                    counts.get(facet).merge(value, 1L, Long::sum);
+                }
+            }
+            if (missed == 0) {
+                matches++;
+                if (ids.size() < facetQuery.getLimit()) ids.add(row.id());
+            }
+        }
+
+        Map<Long, Long> categoryCounts = new LinkedHashMap<>();
+        counts.get(0).forEach((categoryId, count) -> categoryCounts.put((Long) categoryId, count));
+        Map<String, Long> priceBandCounts = new LinkedHashMap<>();
+        counts.get(1).forEach((label, count) -> priceBandCounts.put((String) label, count));
+        Map<StockStatus, Long> stockStatusCounts = new EnumMap<>(StockStatus.class);
+        counts.get(2).forEach((status, count) -> stockStatusCounts.put((StockStatus) status, count));
+        Map<ExpiryWindow, Long> expiryWindowCounts = new EnumMap<>(ExpiryWindow.class);
+        counts.get(3).forEach((window, count) -> expiryWindowCounts.put((ExpiryWindow) window, count));
+        return new ProductFacetsDTO(matches, ids, categoryCounts, priceBandCounts, stockStatusCounts, expiryWindowCounts);
+    }
+
+    private static String priceBand(BigDecimal price) {
+        int band = 0;
+        while (band < PRICE_BANDS.length && price.compareTo(PRICE_BANDS[band]) >= 0) band++;
+        return PRICE_BAND_LABELS.get(band);
+    }
+
+    private static StockStatus stockStatus(int stock) {
+        if (stock <= 0) return StockStatus.OUT_OF_STOCK;
+        return stock <= 5 ? StockStatus.LOW_STOCK : StockStatus.IN_STOCK;
+    }
+
+    private static ExpiryWindow expiryWindow(LocalDateTime expiryDate, LocalDate today) {
+        if (expiryDate == null) return ExpiryWindow.NO_EXPIRY;
+        LocalDate day = expiryDate.toLocalDate();
+        if (day.isBefore(today)) return ExpiryWindow.EXPIRED;
+        if (day.isBefore(today.plusDays(7))) return ExpiryWindow.WITHIN_WEEK;
+        if (day.isBefore(today.plusDays(30))) return ExpiryWindow.WITHIN_MONTH;
+        return ExpiryWindow.LATER;
+    }
+
+    private static <T> List<T> pick(Random random, List<T> values) {
+        List<T> picked = new ArrayList<>();
+        for (T value : values) {
+            if (random.nextInt(3) == 0) picked.add(value);
+        }
+        if (picked.isEmpty()) picked.add(values.get(random.nextInt(values.size())));
+        return picked;
+    }
+
+    private record Row(Long id, Long categoryId, BigDecimal price, Integer stockQuantity, LocalDateTime expiryDate)
+            implements ProductRepository.FacetFields {
+
+        public Long getId() { return id; }
+        public Long getCategoryId() { return categoryId; }
+        public BigDecimal getPrice() { return price; }
+        public Integer getStockQuantity() { return stockQuantity; }
+        public LocalDateTime getExpiryDate() { return expiryDate; }
+    }
+}
@@ -0,0 +1,107 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSearchIndexImplTest {
+
+    private ProductRepository productRepository;
+    private ProductSearchIndexImpl index;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        index = new ProductSearchIndexImpl(productRepository);
+    }
+
+    @Test
+    void findsExactPrefixAndMisspelledWords() {
+        index.index(product(1L, "Cordless Drill", "DR-100"));
+        index.index(product(2L, "Claw Hammer", "HM-200"));
+        index.index(product(3L, "Crème Brûlée Torch", "TO-300"));
+
+        assertThat(index.search("hammer", 10)).containsExactly(2L);
+        assertThat(index.search("cordless dri", 10)).containsExactly(1L);
+        // one edit for a word of four to seven letters, two from eight letters on
+        assertThat(index.search("hamer", 10)).containsExactly(2L);
+        assertThat(index.search("hmamer", 10)).containsExactly(2L);
+        assertThat(index.search("cordlses", 10)).containsExactly(1L);
+        assertThat(index.search("creme brulee", 10)).containsExactly(3L);
+        assertThat(index.search("drill hammer", 10)).isEmpty();
+    }
+
+    @Test
+    void exactSkuRanksFirst() {
+        index.index(product(1L, "Drill bits for hm-200", "BT-1"));
+        index.index(product(2L, "Claw Hammer", "HM-200"));
+
+        assertThat(index.search("hm 200", 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void reindexedAndRemovedProductsAreNotFoundUnderTheirOldWords() {
+        index.index(product(1L, "Claw Hammer", "HM-200"));
+        index.index(product(1L, "Sledge Hammer", "HM-200"));
+        index.index(product(2L, "Cordless Drill", "DR-100"));
+        index.remove(2L);
+
+        assertThat(index.search("claw", 10)).isEmpty();
+        assertThat(index.suggest("sledge", 10)).extracting(ProductDTO::getName).containsExactly("Sledge Hammer");
+        assertThat(index.search("drill", 10)).isEmpty();
+    }
+
+    @Test
+    void compactionKeepsTheDocumentsBoundedByTheProducts() {
+        for (int update = 0; update < 20; update++) {
+            for (long id = 1; id <= 500; id++) {
+                index.index(product(id, "Widget " + id + (update < 19 ? " legacy" : " current"), "W-" + id));
+            }
+        }
+
+        assertThat((int) ReflectionTestUtils.getField(index, "docCount")).isLessThan(2_000);
+        assertThat(((long[]) ReflectionTestUtils.getField(index, "productIds")).length).isLessThan(4_000);
+        assertThat(index.search("current widget 42", 10)).contains(42L);
+        assertThat(index.search("legacy widget", 10)).isEmpty();
+        assertThat(index.suggest("widget 500", 1)).extracting(ProductDTO::getName).containsExactly("Widget 500 current");
+    }
+
+    @Test
+    void productRemovedDuringTheRebuildStaysOut() {
+        when(productRepository.findSearchFieldsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            // removed after the batch was read, before it is indexed
+            index.remove(2L);
+            return List.of(fields(1L, "Claw Hammer"), fields(2L, "Sledge Hammer"));
+        });
+
+        ReflectionTestUtils.invokeMethod(index, "rebuild");
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("hammer", 10)).containsExactly(1L);
+    }
+
+    private static Product product(Long id, String name, String sku) {
+        return Product.builder().id(id).name(name).sku(sku).build();
+    }
+
+    private static ProductRepository.SearchFields fields(Long id, String name) {
+        return new ProductRepository.SearchFields() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+            public String getSku() { return "SKU-" + id; }
+            public String getDescription() { return null; }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.dtos.ProductDTO;
+import com.phegondev.InventoryMgtSystem.exceptions.InsufficientStockException;
+import com.phegondev.InventoryMgtSystem.exceptions.NameValueRequiredException;
+import com.phegondev.InventoryMgtSystem.mappers.ProductMapper;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.repositories.CategoryRepository;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.services.ImageUploadService;
+import com.phegondev.InventoryMgtSystem.services.InventoryCounterService;
+import com.phegondev.InventoryMgtSystem.services.ProductFacetIndex;
+import com.phegondev.InventoryMgtSystem.services.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Product edits: a stale form is refused and stock only moves by the difference the editor typed
+class ProductServiceImplTest {
+
+    private ProductRepository productRepository;
+    private ProductServiceImpl productService;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productService = new ProductServiceImpl(productRepository, new ProductMapper(), mock(CategoryRepository.class),
+                mock(InventoryCounterService.class), mock(ProductSearchIndex.class), mock(ProductFacetIndex.class),
+                mock(ImageUploadService.class));
+
+        product = Product.builder().id(7L).name("Claw Hammer").sku("HM-200").price(BigDecimal.TEN)
+                .stockQuantity(40).version(3L).build();
+        when(productRepository.findById(7L)).thenReturn(Optional.of(product));
+    }
+
+    @Test
+    void editOfTheCurrentVersionLeavesStockAlone() {
+        productService.updateProduct(edit(3L, null), null);
+
+        assertThat(product.getPrice()).isEqualByComparingTo("12.50");
+        assertThat(product.getStockQuantity()).isEqualTo(40);
+        verify(productRepository).saveAndFlush(product);
+        verify(productRepository, never()).increaseStock(anyLong(), anyInt());
+        verify(productRepository, never()).decreaseStockIfAvailable(anyLong(), anyInt());
+    }
+
+    @Test
+    void editOfAnOlderVersionIsAConflict() {
+        assertThatThrownBy(() -> productService.updateProduct(edit(2L, null), null))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(productRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void stockMovesByTheAdjustment() {
+        productService.updateProduct(edit(3L, 5), null);
+        verify(productRepository).increaseStock(7L, 5);
+
+        when(productRepository.decreaseStockIfAvailable(7L, 8)).thenReturn(1);
+        productService.updateProduct(edit(3L, -8), null);
+        verify(productRepository).decreaseStockIfAvailable(7L, 8);
+    }
+
+    @Test
+    void decreaseBelowTheAvailableStockIsRefused() {
+        when(productRepository.decreaseStockIfAvailable(7L, 50)).thenReturn(0);
+
+        assertThatThrownBy(() -> productService.updateProduct(edit(3L, -50), null))
+                .isInstanceOf(InsufficientStockException.class);
+    }
+
+    @Test
+    void absoluteStockAndMissingVersionAreRejected() {
+        ProductDTO absolute = edit(3L, null);
+        absolute.setStockQuantity(10);
+
+        assertThatThrownBy(() -> productService.updateProduct(absolute, null))
+                .isInstanceOf(NameValueRequiredException.class);
+        assertThatThrownBy(() -> productService.updateProduct(edit(null, null), null))
+                .isInstanceOf(NameValueRequiredException.class);
+    }
+
+    private static ProductDTO edit(Long version, Integer stockAdjustment) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setProductId(7L);
+        productDTO.setPrice(new BigDecimal("12.50"));
+        productDTO.setVersion(version);
+        productDTO.setStockAdjustment(stockAdjustment);
+        return productDTO;
+    }
+}
@@ -0,0 +1,80 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.dtos.SaleTicketDTO;
+import com.phegondev.InventoryMgtSystem.dtos.TransactionRequest;
+import com.phegondev.InventoryMgtSystem.enums.SaleTicketStatus;
+import com.phegondev.InventoryMgtSystem.exceptions.NameValueRequiredException;
+import com.phegondev.InventoryMgtSystem.models.ProductQuantity;
+import com.phegondev.InventoryMgtSystem.services.TransactionService;
+import com.phegondev.InventoryMgtSystem.services.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+// The writer thread is not started: these cases never reach the queue
+class SaleIngestionServiceImplTest {
+
+    private UserService userService;
+    private SaleIngestionServiceImpl saleIngestionService;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        saleIngestionService = new SaleIngestionServiceImpl(mock(TransactionService.class), userService,
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(saleIngestionService, "ticketRetentionMinutes", 15L);
+    }
+
+    @Test
+    void missingOrNonPositiveQuantitiesAreRefusedBeforeQueueing() {
+        assertThatThrownBy(() -> saleIngestionService.submitSale(sale(null, new ProductQuantity(1L, null))))
+                .isInstanceOf(NameValueRequiredException.class);
+        assertThatThrownBy(() -> saleIngestionService.submitSale(sale(null, new ProductQuantity(1L, 0))))
+                .isInstanceOf(NameValueRequiredException.class);
+        assertThatThrownBy(() -> saleIngestionService.submitSale(sale(2, new ProductQuantity(1L, -3))))
+                .isInstanceOf(NameValueRequiredException.class);
+        assertThatThrownBy(() -> saleIngestionService.submitSale(sale(2)))
+                .isInstanceOf(NameValueRequiredException.class);
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onlyTheExpiredHeadOfTheFinishedTicketsIsEvicted() {
+        Map<String, SaleTicketDTO> tickets = (Map<String, SaleTicketDTO>) ReflectionTestUtils.getField(saleIngestionService, "tickets");
+        Deque<String> finished = (Deque<String>) ReflectionTestUtils.getField(saleIngestionService, "finishedTickets");
+        LocalDateTime now = LocalDateTime.now();
+        finishedTicket(tickets, finished, "old", now.minusMinutes(30));
+        finishedTicket(tickets, finished, "recent", now.minusMinutes(1));
+        tickets.put("queued", new SaleTicketDTO("queued", SaleTicketStatus.QUEUED, null, now.minusMinutes(40), null));
+
+        ReflectionTestUtils.invokeMethod(saleIngestionService, "evictExpiredTickets");
+
+        assertThat(tickets).containsOnlyKeys("recent", "queued");
+        assertThat(finished).containsExactly("recent");
+    }
+
+    private static void finishedTicket(Map<String, SaleTicketDTO> tickets, Deque<String> finished, String id,
+                                       LocalDateTime completedAt) {
+        tickets.put(id, new SaleTicketDTO(id, SaleTicketStatus.COMPLETED, "done", completedAt.minusSeconds(1), completedAt));
+        finished.addLast(id);
+    }
+
+    private static TransactionRequest sale(Integer quantity, ProductQuantity... products) {
+        TransactionRequest transactionRequest = new TransactionRequest();
+        transactionRequest.setQuantity(quantity);
+        transactionRequest.setProducts(List.of(products));
+        return transactionRequest;
+    }
+}
@@ -0,0 +1,114 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.models.Category;
+import com.phegondev.InventoryMgtSystem.models.EscrowReservation;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.repositories.CategoryRepository;
+import com.phegondev.InventoryMgtSystem.repositories.EscrowReservationRepository;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.services.ProductFacetIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Escrow commits in its own transactions, so the test does not wrap them in one
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:escrow;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "inventory.escrow.block-size=10"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({StockEscrowServiceImpl.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockEscrowServiceImplTest {
+
+    @Autowired
+    private StockEscrowServiceImpl stockEscrowService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EscrowReservationRepository escrowReservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ProductFacetIndex productFacetIndex;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder().name("Tools").build());
+        productId = productRepository.save(Product.builder().name("Claw Hammer").sku("HM-200").price(BigDecimal.TEN)
+                .stockQuantity(50).escrowEnabled(true).category(category).build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((Map<?, ?>) ReflectionTestUtils.getField(stockEscrowService, "blocks")).clear();
+        escrowReservationRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void reservationIsRecordedForThisNodeAndFollowsTheSales() {
+        assertThat(stockEscrowService.tryConsume(productId, 2)).isFalse();
+        stockEscrowService.flush();
+        assertThat(escrowHeld()).isEqualTo(10);
+        assertThat(escrowReservationRepository.findAll()).extracting(EscrowReservation::getUnits).containsExactly(10);
+
+        assertThat(stockEscrowService.tryConsume(productId, 3)).isTrue();
+        stockEscrowService.flush();
+        assertThat(escrowHeld()).isEqualTo(escrowReservationRepository.findAll().get(0).getUnits());
+        assertThat(stockQuantity()).isEqualTo(47);
+    }
+
+    @Test
+    void unitsOfADeadNodeGoBackToTheSharedStock() {
+        jdbcTemplate.update("UPDATE products SET escrow_held = 20 WHERE id = ?", productId);
+        escrowReservationRepository.save(EscrowReservation.builder().nodeId("dead-node").productId(productId)
+                .units(20).heartbeatAt(LocalDateTime.now().minusHours(1)).build());
+        escrowReservationRepository.save(EscrowReservation.builder().nodeId("live-node").productId(productId)
+                .units(0).heartbeatAt(LocalDateTime.now()).build());
+
+        stockEscrowService.renewAndReclaim();
+
+        assertThat(escrowHeld()).isZero();
+        assertThat(escrowReservationRepository.findAll()).extracting(EscrowReservation::getNodeId)
+                .containsExactly("live-node");
+    }
+
+    private int escrowHeld() {
+        return jdbcTemplate.queryForObject("SELECT escrow_held FROM products WHERE id = ?", Integer.class, productId);
+    }
+
+    private int stockQuantity() {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class, productId);
+    }
+}
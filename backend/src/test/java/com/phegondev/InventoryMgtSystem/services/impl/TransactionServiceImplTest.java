@@ -0,0 +1,125 @@
+package com.phegondev.InventoryMgtSystem.services.impl;
+
+import com.phegondev.InventoryMgtSystem.dtos.TransactionRequest;
+import com.phegondev.InventoryMgtSystem.enums.InventoryCounterName;
+import com.phegondev.InventoryMgtSystem.enums.TransactionStatus;
+import com.phegondev.InventoryMgtSystem.enums.TransactionType;
+import com.phegondev.InventoryMgtSystem.exceptions.NameValueRequiredException;
+import com.phegondev.InventoryMgtSystem.mappers.TransactionMapper;
+import com.phegondev.InventoryMgtSystem.models.Product;
+import com.phegondev.InventoryMgtSystem.models.Supplier;
+import com.phegondev.InventoryMgtSystem.models.Transaction;
+import com.phegondev.InventoryMgtSystem.models.TransactionLine;
+import com.phegondev.InventoryMgtSystem.repositories.ProductRepository;
+import com.phegondev.InventoryMgtSystem.repositories.SupplierRepository;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionMonthlyRollupRepository;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionRepository;
+import com.phegondev.InventoryMgtSystem.repositories.TransactionSeriesBucketRepository;
+import com.phegondev.InventoryMgtSystem.services.InventoryCounterService;
+import com.phegondev.InventoryMgtSystem.services.ProductFacetIndex;
+import com.phegondev.InventoryMgtSystem.services.StockEscrowService;
+import com.phegondev.InventoryMgtSystem.services.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TransactionServiceImplTest {
+
+    private TransactionRepository transactionRepository;
+    private ProductRepository productRepository;
+    private TransactionMonthlyRollupRepository rollupRepository;
+    private TransactionSeriesBucketRepository seriesBucketRepository;
+    private InventoryCounterService inventoryCounterService;
+    private TransactionServiceImpl transactionService;
+    private Transaction sale;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository = mock(TransactionRepository.class);
+        rollupRepository = mock(TransactionMonthlyRollupRepository.class);
+        seriesBucketRepository = mock(TransactionSeriesBucketRepository.class);
+        inventoryCounterService = mock(InventoryCounterService.class);
+        productRepository = mock(ProductRepository.class);
+        SupplierRepository supplierRepository = mock(SupplierRepository.class);
+        when(supplierRepository.findById(2L)).thenReturn(Optional.of(Supplier.builder().id(2L).name("Acme").build()));
+        transactionService = new TransactionServiceImpl(transactionRepository, productRepository,
+                supplierRepository, mock(UserService.class), mock(StockEscrowService.class),
+                rollupRepository, seriesBucketRepository, inventoryCounterService,
+                mock(TransactionMapper.class), mock(ProductFacetIndex.class));
+
+        sale = Transaction.builder().id(100L).totalProducts(3).totalPrice(new BigDecimal("30"))
+                .transactionType(TransactionType.SALE).status(TransactionStatus.COMPLETED).build();
+        sale.setLines(List.of(
+                TransactionLine.builder().transaction(sale).product(Product.builder().id(9L).build())
+                        .quantity(1).unitPrice(BigDecimal.TEN).build(),
+                TransactionLine.builder().transaction(sale).product(Product.builder().id(4L).build())
+                        .quantity(2).unitPrice(BigDecimal.TEN).build()));
+        when(transactionRepository.findById(100L)).thenReturn(Optional.of(sale));
+    }
+
+    @Test
+    void basketWithoutProductsIsRejected() {
+        TransactionRequest empty = new TransactionRequest();
+        empty.setSupplierId(2L);
+        empty.setQuantity(1);
+        empty.setProducts(List.of());
+        TransactionRequest missing = new TransactionRequest();
+        missing.setSupplierId(2L);
+        missing.setQuantity(1);
+
+        for (TransactionRequest request : List.of(empty, missing)) {
+            assertThatThrownBy(() -> transactionService.purchase(request)).isInstanceOf(NameValueRequiredException.class);
+            assertThatThrownBy(() -> transactionService.sell(request, null)).isInstanceOf(NameValueRequiredException.class);
+            assertThatThrownBy(() -> transactionService.returnToSupplier(request))
+                    .isInstanceOf(NameValueRequiredException.class);
+        }
+        verifyNoInteractions(productRepository, rollupRepository);
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void statusChangeMovesEachBucketOnceInKeyOrder() {
+        LocalDate day = sale.getCreatedAt().toLocalDate();
+        int year = day.getYear();
+        int month = day.getMonthValue();
+
+        transactionService.updateTransactionStatus(100L, TransactionStatus.CANCELLED);
+
+        InOrder order = inOrder(rollupRepository, seriesBucketRepository, inventoryCounterService);
+        order.verify(rollupRepository).addToBucket(year, month, "SALE", "CANCELLED", 1, 3, new BigDecimal("30"));
+        order.verify(rollupRepository).addToBucket(year, month, "SALE", "COMPLETED", -1, -3, new BigDecimal("-30"));
+        order.verify(seriesBucketRepository).addToBucket(0L, day, "SALE", "CANCELLED", 1, 3, new BigDecimal("30"));
+        order.verify(seriesBucketRepository).addToBucket(0L, day, "SALE", "COMPLETED", -1, -3, new BigDecimal("-30"));
+        order.verify(seriesBucketRepository).addToBucket(4L, day, "SALE", "CANCELLED", 1, 2, new BigDecimal("20"));
+        order.verify(seriesBucketRepository).addToBucket(4L, day, "SALE", "COMPLETED", -1, -2, new BigDecimal("-20"));
+        order.verify(seriesBucketRepository).addToBucket(9L, day, "SALE", "CANCELLED", 1, 1, new BigDecimal("10"));
+        order.verify(seriesBucketRepository).addToBucket(9L, day, "SALE", "COMPLETED", -1, -1, new BigDecimal("-10"));
+        order.verify(inventoryCounterService).add(InventoryCounterName.COMPLETED_SALES_TOTAL, new BigDecimal("-30"));
+        // still one sale: the transaction counter does not move
+        verify(inventoryCounterService, never()).add(eq(InventoryCounterName.SALE_TRANSACTIONS), anyLong());
+    }
+
+    @Test
+    void unchangedStatusLeavesTheAggregatesAlone() {
+        transactionService.updateTransactionStatus(100L, TransactionStatus.COMPLETED);
+
+        verifyNoInteractions(rollupRepository, seriesBucketRepository, inventoryCounterService);
+        verify(transactionRepository).save(any(Transaction.class));
+    }
+}
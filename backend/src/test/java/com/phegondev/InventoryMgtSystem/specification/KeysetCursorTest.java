@@ -0,0 +1,37 @@
+package com.phegondev.InventoryMgtSystem.specification;
+
+import com.phegondev.InventoryMgtSystem.exceptions.NameValueRequiredException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTrips() {
+        for (long id : new long[]{0L, 1L, 42L, Long.MAX_VALUE}) {
+            String cursor = KeysetCursor.encode(id);
+
+            assertThat(cursor).matches("[A-Za-z0-9_-]+");
+            assertThat(KeysetCursor.decode(cursor)).isEqualTo(id);
+        }
+    }
+
+    @Test
+    void missingCursorIsTheFirstPage() {
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        String notANumber = Base64.getUrlEncoder().withoutPadding().encodeToString("abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> KeysetCursor.decode("not base64!")).isInstanceOf(NameValueRequiredException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(notANumber)).isInstanceOf(NameValueRequiredException.class);
+    }
+}
@@ -10,6 +10,9 @@ const AddEditProductPage = () => {
   const [sku, setSku] = useState("");
   const [price, setPrice] = useState("");
   const [stockQuantity, setStokeQuantity] = useState("");
+  // stock and version as loaded, an edit sends the stock difference and is refused if the product changed meanwhile
+  const [loadedStockQuantity, setLoadedStockQuantity] = useState(0);
+  const [version, setVersion] = useState(null);
   const [categoryId, setCategoryId] = useState("");
   const [description, setDescription] = useState("");
   const [imageFile, setImageFile] = useState(null);
@@ -44,6 +47,8 @@ const AddEditProductPage = () => {
             setSku(p.sku);
             setPrice(p.price);
             setStokeQuantity(p.stockQuantity);
+            setLoadedStockQuantity(p.stockQuantity);
+            setVersion(p.version);
             setCategoryId(p.categoryId);
             setDescription(p.description);
             setImageUrl(p.imageUrl);
@@ -84,7 +89,6 @@ const AddEditProductPage = () => {
     formData.append("name", name);
     formData.append("sku", sku);
     formData.append("price", price);
-    formData.append("stockQuantity", stockQuantity);
     formData.append("categoryId", categoryId);
     formData.append("description", description);
     if (imageFile) formData.append("imageFile", imageFile);
@@ -92,9 +96,13 @@ const AddEditProductPage = () => {
     try {
       if (isEditing) {
         formData.append("productId", productId);
+        formData.append("version", version);
+        const stockAdjustment = Number(stockQuantity) - Number(loadedStockQuantity);
+        if (stockAdjustment !== 0) formData.append("stockAdjustment", stockAdjustment);
         await ApiService.updateProduct(formData);
         showMessage("✅ Product successfully updated");
       } else {
+        formData.append("stockQuantity", stockQuantity);
         await ApiService.addProduct(formData);
         showMessage("✅ Product successfully saved");
       }
@@ -30,114 +30,68 @@ const DashboardPage = () => {
     setTimeout(() => setMessage(""), 4000);
   };
 
+  // one aggregated request; sections the server could not answer in time come back as null
   useEffect(() => {
-    const fetchData = async () => {
+    const fetchSummary = async () => {
       try {
-        const res = await ApiService.getAllTransactions();
-        if (res.status === 200) {
-          setTransactionData(
-            transformTransactionData(res.transactions, selectedMonth, selectedYear)
-          );
+        const res = await ApiService.getDashboardSummary();
+        const summary = res.dashboard || {};
+        setTotalPrice(summary.completedSalesTotal ?? 0);
+        setTotalProducts(summary.totalProducts ?? 0);
+        setTotalSuppliers(summary.totalSuppliers ?? 0);
+        setCounts(summary.transactionTypeCounts || {});
+        if (summary.unavailableSections?.length) {
+          showMessage(`Some dashboard data is unavailable: ${summary.unavailableSections.join(", ")}`);
         }
       } catch (error) {
-        showMessage(error.response?.data?.message || "Error fetching transactions");
+        showMessage(error.response?.data?.message || "Error fetching dashboard summary");
       }
     };
-    fetchData();
-  }, [selectedMonth, selectedYear, selectedData]);
-
-  useEffect(() => {
-    const fetchTotalPrice = async () => {
-      try {
-        const total = await ApiService.sumTotalPriceByTransactionTypeAndStatus("sale", "completed");
-        setTotalPrice(total);
-      } catch (error) {
-        showMessage(error.response?.data?.message || "Error fetching total price");
-      }
-    };
-    fetchTotalPrice();
+    fetchSummary();
   }, []);
 
+  // daily buckets of the selected month, aggregated on the server
   useEffect(() => {
-    const fetchTotalProducts = async () => {
+    const fetchSeries = async () => {
+      const daysInMonth = new Date(selectedYear, selectedMonth, 0).getDate();
+      const pad = (n) => String(n).padStart(2, "0");
       try {
-        const count = await ApiService.countProducts();
-        setTotalProducts(count);
-      } catch (error) {
-        showMessage(error.response?.data?.message || "Error fetching total products");
-      }
-    };
-    fetchTotalProducts();
-  }, []);
-
-  useEffect(() => {
-    const fetchTotalSuppliers = async () => {
-      try {
-        const count = await ApiService.countSuppliers();
-        setTotalSuppliers(count);
-      } catch (error) {
-        showMessage(error.response?.data?.message || "Error fetching total suppliers");
-      }
-    };
-    fetchTotalSuppliers();
-  }, []);
-
-  useEffect(() => {
-    const fetchTransactionCounts = async () => {
-      try {
-        const response = await ApiService.countAllTransactionTypes();
-        if (response.status === 200) {
-          setCounts(response.data || response);
-        } else {
-          setCounts(response);
+        const res = await ApiService.getTransactionSeries({
+          granularity: "DAY",
+          from: `${selectedYear}-${pad(selectedMonth)}-01`,
+          to: `${selectedYear}-${pad(selectedMonth)}-${pad(daysInMonth)}`
+        });
+        if (res.status === 200) {
+          setTransactionData(transformSeriesData(res.series || [], daysInMonth));
         }
       } catch (error) {
-        showMessage(error.response?.data?.message || "Error fetching transaction counts");
-      }
-    };
-    fetchTransactionCounts();
-  }, []);
-
-  useEffect(() => {
-    const fetchCompletedSalesCount = async () => {
-      try {
-        const count = await ApiService.countCompletedSales();
-        setTotalPrice(count);
-      } catch (error) {
-        showMessage(error.response?.data);
-        console.error(error);
+        showMessage(error.response?.data?.message || "Error fetching transactions");
       }
     };
-    fetchCompletedSalesCount();
-  }, []); 
-
-        
+    fetchSeries();
+  }, [selectedMonth, selectedYear]);
 
   const stats = [
     { title: "Total Sales", value: counts.SALE, icon: "💰", change: "+5% this month" },
     { title: "Total Purchases", value: counts.PURCHASE, icon: "🛒", change: "+3% this month" },
-    { title: "Total Transactions", value: counts.SALE + counts.PURCHASE, icon: "📊", change: "+10% this month" },
+    { title: "Total Transactions", value: (counts.SALE || 0) + (counts.PURCHASE || 0), icon: "📊", change: "+10% this month" },
     { title: "Total Products", value: totalProducts, icon: "📦", change: "+2% this month" },
     { title: "Total Suppliers", value: totalSuppliers, icon: "👥", change: "+1% this month" },
     { title: "Total Price of Sales", value: totalPrice, icon: "💵", change: "+4% this month" }
   ];
 
-  const transformTransactionData = (transactions, month, year) => {
+  const transformSeriesData = (series, daysInMonth) => {
     const dailyData = {};
-    const daysInMonth = new Date(year, month, 0).getDate();
 
     for (let day = 1; day <= daysInMonth; day++) {
       dailyData[day] = { day, count: 0, quantity: 0, amount: 0 };
     }
 
-    transactions.forEach((tx) => {
-      const date = new Date(tx.createdAt);
-      if (date.getMonth() + 1 === month && date.getFullYear() === year) {
-        const d = date.getDate();
-        dailyData[d].count += 1;
-        dailyData[d].quantity += tx.totalProducts;
-        dailyData[d].amount += tx.totalPrice;
-      }
+    series.forEach((point) => {
+      const d = parseInt(point.bucket.slice(8, 10), 10);
+      dailyData[d].count = point.transactionCount;
+      dailyData[d].quantity = point.totalProducts;
+      dailyData[d].amount = point.totalPrice;
     });
 
     return Object.values(dailyData);
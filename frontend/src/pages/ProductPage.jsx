@@ -8,7 +8,7 @@ import "./Productstyle.css";
 
 const ProductPage = () => {
   const [products, setProducts] = useState([]);
-  const [filteredProducts, setFilteredProducts] = useState([]);
+  const [categories, setCategories] = useState([]);
   const [message, setMessage] = useState("");
   const [searchTerm, setSearchTerm] = useState("");
   const [statusFilter, setStatusFilter] = useState("all");
@@ -22,13 +22,43 @@ const ProductPage = () => {
   const itemsPerPage = 10;
 
   useEffect(() => {
+    const getCategories = async () => {
+      try {
+        const categoryData = await ApiService.getAllCategory();
+        if (categoryData.status === 200) {
+          setCategories(categoryData.categories);
+        }
+      } catch (error) {
+        showMessage(
+          error.response?.data?.message || "Error Getting Categories: " + error
+        );
+      }
+    };
+
+    getCategories();
+  }, []);
+
+  // Filtering and paging happen on the server, only the current page is loaded
+  useEffect(() => {
+    const stockParams = {
+      "in-stock": { minStock: 6 },
+      "low-stock": { lowStock: true },
+      "out-of-stock": { maxStock: 0 },
+    }[statusFilter] || {};
+
     const getProducts = async () => {
       try {
-        const productData = await ApiService.getAllProducts();
+        const productData = await ApiService.getProductCatalog({
+          page: currentPage - 1,
+          size: itemsPerPage,
+          search: searchTerm || undefined,
+          categoryId: categoryFilter === "all" ? undefined : categoryFilter,
+          ...stockParams,
+        });
 
         if (productData.status === 200) {
           setProducts(productData.products);
-          setFilteredProducts(productData.products);
+          setTotalPages(productData.totalPages);
         }
       } catch (error) {
         showMessage(
@@ -37,37 +67,18 @@ const ProductPage = () => {
       }
     };
 
-    getProducts();
-  }, []);
+    // wait for the user to stop typing before querying
+    const timer = setTimeout(getProducts, 300);
+    return () => clearTimeout(timer);
+  }, [currentPage, searchTerm, statusFilter, categoryFilter]);
 
-  // Filter and search logic
+  // Any filter change starts again from the first page
   useEffect(() => {
-    let filtered = products.filter((product) => {
-      const matchesSearch = product.name.toLowerCase().includes(searchTerm.toLowerCase()) ||
-                           product.sku.toLowerCase().includes(searchTerm.toLowerCase());
-      
-      const matchesStatus = statusFilter === "all" || 
-                           (statusFilter === "in-stock" && product.stockQuantity > 5) ||
-                           (statusFilter === "low-stock" && product.stockQuantity > 0 && product.stockQuantity <= 5) ||
-                           (statusFilter === "out-of-stock" && product.stockQuantity === 0);
-
-      const matchesCategory = categoryFilter === "all" || 
-                             (product.category && product.category.toLowerCase() === categoryFilter.toLowerCase());
-
-      return matchesSearch && matchesStatus && matchesCategory;
-    });
-
-    setFilteredProducts(filtered);
-    setTotalPages(Math.ceil(filtered.length / itemsPerPage));
     setCurrentPage(1);
-  }, [searchTerm, statusFilter, categoryFilter, products]);
+  }, [searchTerm, statusFilter, categoryFilter]);
 
-  // Get current page products
-  const getCurrentPageProducts = () => {
-    const startIndex = (currentPage - 1) * itemsPerPage;
-    const endIndex = startIndex + itemsPerPage;
-    return filteredProducts.slice(startIndex, endIndex);
-  };
+  const getCategoryName = (categoryId) =>
+    categories.find((category) => category.id === categoryId)?.name;
 
   // Delete a product
   const handleDeleteProduct = async (productId) => {
@@ -105,8 +116,6 @@ const ProductPage = () => {
     showMessage("Export functionality coming soon!");
   };
 
-  const uniqueCategories = [...new Set(products.map(p => p.category).filter(Boolean))];
-
   return (
     <Layout>
       {message && <div className="message">{message}</div>}
@@ -160,8 +169,8 @@ const ProductPage = () => {
               className="filter-select"
             >
               <option value="all">Toutes catégories</option>
-              {uniqueCategories.map(category => (
-                <option key={category} value={category}>{category}</option>
+              {categories.map(category => (
+                <option key={category.id} value={category.id}>{category.name}</option>
               ))}
             </select>
 
@@ -173,7 +182,7 @@ const ProductPage = () => {
         </div>
 
         {/* Products Table */}
-        {getCurrentPageProducts().length > 0 ? (
+        {products.length > 0 ? (
           <div className="table-container">
             <table className="products-table">
               <thead>
@@ -188,14 +197,15 @@ const ProductPage = () => {
                 </tr>
               </thead>
               <tbody>
-                {getCurrentPageProducts().map((product) => {
+                {products.map((product) => {
                   const stockStatus = getStockStatus(product.stockQuantity);
                   return (
                     <tr key={product.id}>
                       <td className="product-cell">
                         <div className="product-info">
                           <img
-                            src={product.imageUrl || "/api/placeholder/40/40"}
+                            src={ApiService.imageUrl(product.thumbnailSmallUrl) || product.imageUrl || "/api/placeholder/40/40"}
+                            loading="lazy"
                             alt={product.name}
                             className="product-thumbnail"
                           />
@@ -205,7 +215,7 @@ const ProductPage = () => {
                       <td className="sku-cell">{product.sku}</td>
                       <td className="quantity-cell">{product.stockQuantity}</td>
                       <td className="price-cell">€{product.price}</td>
-                      <td className="category-cell">{product.category || "Non classé"}</td>
+                      <td className="category-cell">{getCategoryName(product.categoryId) || "Non classé"}</td>
                       <td className="status-cell">
                         <span className={`status-badge ${stockStatus.class}`}>
                           {stockStatus.status}
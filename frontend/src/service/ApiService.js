@@ -142,6 +142,29 @@ export default class ApiService {
         return response.data;
     }
 
+    static async getProductCatalog(params) {
+        const response = await axios.get(`${this.BASE_URL}/products`, {
+            headers: this.getHeader(),
+            params
+        });
+        return response.data;
+    }
+
+    // facet selections are arrays, sent as repeated parameters (categoryId=1&categoryId=2)
+    static async getProductFacets(params) {
+        const response = await axios.get(`${this.BASE_URL}/products/facets`, {
+            headers: this.getHeader(),
+            params,
+            paramsSerializer: { indexes: null }
+        });
+        return response.data;
+    }
+
+    // thumbnails come back as server paths (/api/images/...), served without auth and cached by the browser
+    static imageUrl(path) {
+        return path && path.startsWith("/") ? this.BASE_URL.replace(/\/api$/, "") + path : path;
+    }
+
     static async getProductById(productId) {
         const response = await axios.get(`${this.BASE_URL}/products/${productId}`, {
             headers: this.getHeader()
@@ -151,7 +174,15 @@ export default class ApiService {
 
     static async searchProduct(searchValue) {
         const response = await axios.get(`${this.BASE_URL}/products/search`, {
-            params: { searchValue },
+            params: { input: searchValue },
+            headers: this.getHeader()
+        });
+        return response.data;
+    }
+
+    static async suggestProducts(prefix, limit = 10) {
+        const response = await axios.get(`${this.BASE_URL}/products/suggest`, {
+            params: { prefix, limit },
             headers: this.getHeader()
         });
         return response.data;
@@ -359,6 +390,21 @@ export default class ApiService {
         return response.data;
     }
 
+    static async getTransactionSeries(params) {
+        const response = await axios.get(`${this.BASE_URL}/analytics/series`, {
+            headers: this.getHeader(),
+            params
+        })
+        return response.data;
+    }
+
+    static async getDashboardSummary() {
+        const response = await axios.get(`${this.BASE_URL}/dashboard/summary`, {
+            headers: this.getHeader()
+        })
+        return response.data;
+    }
+
 
     /**AUTHENTICATION CHECKER */
     static logout(){